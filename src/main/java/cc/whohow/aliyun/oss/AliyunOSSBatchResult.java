@@ -0,0 +1,72 @@
+package cc.whohow.aliyun.oss;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 批量操作结果，统计成功数、字节数，收集失败项
+ */
+public class AliyunOSSBatchResult {
+    private final LongAdder count = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final Map<String, Throwable> failures = new ConcurrentSkipListMap<>();
+
+    public void addSuccess(long bytes) {
+        this.count.increment();
+        this.bytes.add(bytes);
+    }
+
+    public void addFailure(String key, Throwable e) {
+        failures.put(key, e);
+    }
+
+    /**
+     * 成功数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 成功处理的字节数
+     */
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * 失败项，按键排序
+     */
+    public Map<String, Throwable> getFailures() {
+        return Collections.unmodifiableMap(failures);
+    }
+
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * 存在失败项时抛出第一个失败的异常，其余失败作为suppressed附加
+     */
+    public AliyunOSSBatchResult throwIfFailed() {
+        if (failures.isEmpty()) {
+            return this;
+        }
+        RuntimeException e = null;
+        for (Map.Entry<String, Throwable> failure : failures.entrySet()) {
+            if (e == null) {
+                e = AliyunOSSTasks.propagate(failure.getValue());
+            } else if (e != failure.getValue()) {
+                e.addSuppressed(failure.getValue());
+            }
+        }
+        throw e;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + " bytes=" + getBytes() + " failures=" + failures.size();
+    }
+}
@@ -0,0 +1,61 @@
+package cc.whohow.aliyun.oss;
+
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 定长缓冲区池，限制同时使用的缓冲区数，按需分配、归还复用
+ */
+public class AliyunOSSBufferPool {
+    private final int bufferSize;
+    private final Semaphore permits;
+    private final Queue<byte[]> buffers = new ConcurrentLinkedQueue<>();
+
+    public AliyunOSSBufferPool(int bufferSize, int maxBuffers) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize: " + bufferSize);
+        }
+        if (maxBuffers <= 0) {
+            throw new IllegalArgumentException("maxBuffers: " + maxBuffers);
+        }
+        this.bufferSize = bufferSize;
+        this.permits = new Semaphore(maxBuffers);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 获取缓冲区，池中缓冲区全部在使用时等待归还
+     */
+    public byte[] acquire() {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException());
+        }
+        byte[] buffer = buffers.poll();
+        return buffer == null ? new byte[bufferSize] : buffer;
+    }
+
+    /**
+     * 获取缓冲区，池中缓冲区全部在使用时返回null
+     */
+    public byte[] tryAcquire() {
+        if (!permits.tryAcquire()) {
+            return null;
+        }
+        byte[] buffer = buffers.poll();
+        return buffer == null ? new byte[bufferSize] : buffer;
+    }
+
+    public void release(byte[] buffer) {
+        buffers.offer(buffer);
+        permits.release();
+    }
+}
@@ -0,0 +1,489 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.OSSErrorCode;
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.OSSObject;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 对象内容本地磁盘缓存
+ * <p>
+ * 以ETag校验：已缓存的对象以If-None-Match发起条件GET，未修改时服务端返回304不传输内容，直接读取本地文件（内存映射）；
+ * 已修改或未缓存时下载到临时文件，再原子重命名为正式文件，读取方不会看到写了一半的文件。
+ * 缓存总大小超过上限时按最近最少使用顺序删除；超过单个对象上限的对象不缓存，直接返回响应流。
+ * 同一对象的并发读取只有一个发起请求，下载期间不阻塞其他对象的读取。
+ * 缓存文件名由Bucket、Key的摘要及ETag组成，重启后重建索引继续使用。
+ * 作为拦截器挂在客户端上时，经该客户端的写操作失效对应缓存，避免校验间隔内读到旧内容。
+ */
+public class AliyunOSSContentCache implements OSSInterceptor {
+    private static final Pattern FILE_NAME = Pattern.compile("^(?<id>[0-9a-f]{40})\\.(?<etag>[A-Za-z0-9_-]+)$");
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long maxObjectSize;
+    private final long revalidateAfter;
+    private final ConcurrentMap<String, FutureTask<Entry>> loading = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long generation;
+    private long bytes;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param maxBytes 缓存文件总大小上限
+     */
+    public AliyunOSSContentCache(Path directory, long maxBytes) {
+        this(directory, maxBytes, Duration.ZERO);
+    }
+
+    /**
+     * 单个对象不超过总大小上限的1/8
+     *
+     * @param maxBytes        缓存文件总大小上限
+     * @param revalidateAfter 上次校验后该时间内直接使用缓存，不发起条件GET；为0时每次读取都校验
+     */
+    public AliyunOSSContentCache(Path directory, long maxBytes, Duration revalidateAfter) {
+        this(directory, maxBytes, Math.max(1, maxBytes / 8), revalidateAfter);
+    }
+
+    /**
+     * @param maxBytes        缓存文件总大小上限
+     * @param maxObjectSize   单个对象大小上限，超过的对象不缓存；不超过maxBytes
+     * @param revalidateAfter 上次校验后该时间内直接使用缓存，不发起条件GET；为0时每次读取都校验
+     */
+    public AliyunOSSContentCache(Path directory, long maxBytes, long maxObjectSize, Duration revalidateAfter) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes: " + maxBytes);
+        }
+        if (maxObjectSize <= 0 || maxObjectSize > maxBytes) {
+            throw new IllegalArgumentException("maxObjectSize: " + maxObjectSize);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.maxObjectSize = maxObjectSize;
+        this.revalidateAfter = revalidateAfter.toNanos();
+        try {
+            Files.createDirectories(directory);
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 读取对象内容，返回只读的内存映射缓冲区
+     */
+    public ByteBuffer read(AliyunOSSObject object) {
+        for (int retries = 0; ; retries++) {
+            Content content = get(object);
+            if (content.entry == null) {
+                return read(content.object);
+            }
+            Entry entry = content.entry;
+            if (entry.length > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Too large for a single buffer: " + object + " " + entry.length);
+            }
+            try (FileChannel channel = FileChannel.open(entry.path, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, entry.length);
+            } catch (NoSuchFileException e) {
+                // 刚被淘汰，重新加载
+                remove(entry);
+                if (retries > 0) {
+                    throw new UncheckedIOException(e);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 读取对象内容
+     */
+    public InputStream getInputStream(AliyunOSSObject object) {
+        for (int retries = 0; ; retries++) {
+            Content content = get(object);
+            if (content.entry == null) {
+                return content.object.getObjectContent();
+            }
+            Entry entry = content.entry;
+            try {
+                return Files.newInputStream(entry.path);
+            } catch (NoSuchFileException e) {
+                // 刚被淘汰，重新加载
+                remove(entry);
+                if (retries > 0) {
+                    throw new UncheckedIOException(e);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public void invalidate(String bucketName, String key) {
+        Entry entry;
+        synchronized (this) {
+            generation++;
+            entry = entries.get(id(bucketName, key));
+        }
+        if (entry != null) {
+            remove(entry);
+        }
+    }
+
+    public void clear() {
+        List<Entry> removed;
+        synchronized (this) {
+            generation++;
+            removed = new ArrayList<>(entries.values());
+        }
+        removed.forEach(this::remove);
+    }
+
+    /**
+     * 写操作发起前及完成后失效对应缓存；每次读取都校验时无需失效
+     */
+    @Override
+    public Object intercept(OSSInvocation invocation) throws Throwable {
+        if (revalidateAfter == 0 || !AliyunOSSMetadataCache.WRITE_OPERATIONS.contains(invocation.getOperation())) {
+            return invocation.proceed();
+        }
+        String bucketName = invocation.getBucketName();
+        Collection<String> keys = AliyunOSSMetadataCache.getKeys(invocation);
+        invalidate(bucketName, keys);
+        try {
+            return invocation.proceed();
+        } finally {
+            invalidate(bucketName, keys);
+        }
+    }
+
+    private void invalidate(String bucketName, Collection<String> keys) {
+        if (keys == null) {
+            // 缓存按摘要索引，无法只失效某个Bucket
+            clear();
+        } else {
+            for (String key : keys) {
+                invalidate(bucketName, key);
+            }
+        }
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 校验并返回缓存项，不缓存的对象返回打开的响应；同一对象的并发读取只有一个发起请求，其他对象不受影响
+     */
+    private Content get(AliyunOSSObject object) {
+        String id = id(object.getBucketName(), object.getKey());
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(id);
+        }
+        if (entry != null && entry.validated != 0 && System.nanoTime() - entry.validated < revalidateAfter) {
+            hit();
+            return new Content(entry, null);
+        }
+        OSSObject[] uncached = new OSSObject[1];
+        FutureTask<Entry> task = new FutureTask<>(() -> load(object, id, entry, uncached));
+        FutureTask<Entry> running = loading.putIfAbsent(id, task);
+        if (running == null) {
+            try {
+                task.run();
+            } finally {
+                loading.remove(id, task);
+            }
+            running = task;
+        }
+        try {
+            Entry loaded = running.get();
+            if (loaded != null) {
+                return new Content(loaded, null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException());
+        } catch (ExecutionException e) {
+            throw AliyunOSSTasks.propagate(e.getCause());
+        }
+        if (running == task) {
+            return new Content(null, uncached[0]);
+        }
+        // 等待的是其他线程的请求，不缓存的对象各自读取
+        return new Content(null, object.getOSS().getObject(object.getBucketName(), object.getKey()));
+    }
+
+    /**
+     * 发起（条件）GET，未修改时返回原缓存项；超过单个对象上限时返回null，响应留给调用方读取
+     */
+    private Entry load(AliyunOSSObject object, String id, Entry entry, OSSObject[] uncached) throws IOException {
+        GetObjectRequest getObjectRequest = new GetObjectRequest(object.getBucketName(), object.getKey());
+        if (entry != null) {
+            getObjectRequest.setNonmatchingETagConstraints(Collections.singletonList(entry.eTag));
+        }
+        long loadGeneration;
+        synchronized (this) {
+            loadGeneration = generation;
+        }
+        OSSObject ossObject;
+        try {
+            ossObject = object.getOSS().getObject(getObjectRequest);
+        } catch (OSSException e) {
+            if (entry != null && OSSErrorCode.NOT_MODIFIED.equals(e.getErrorCode())) {
+                entry.validated = System.nanoTime();
+                touch(entry);
+                hit();
+                return entry;
+            }
+            if (entry != null && OSSErrorCode.NO_SUCH_KEY.equals(e.getErrorCode())) {
+                remove(entry);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            misses++;
+        }
+        long length = ossObject.getObjectMetadata().getContentLength();
+        if (length < 0 || length > maxObjectSize) {
+            if (entry != null) {
+                remove(entry);
+            }
+            uncached[0] = ossObject;
+            return null;
+        }
+        try (OSSObject o = ossObject) {
+            return store(id, o, loadGeneration);
+        }
+    }
+
+    /**
+     * 读取不缓存的对象到堆缓冲区
+     */
+    private static ByteBuffer read(OSSObject ossObject) {
+        try (OSSObject o = ossObject;
+             ReadableByteChannel channel = Channels.newChannel(o.getObjectContent())) {
+            long length = o.getObjectMetadata().getContentLength();
+            if (length < 0 || length > MAX_BUFFER_SIZE) {
+                throw new IllegalStateException("Too large for a single buffer: " + o.getBucketName() + "/" + o.getKey() + " " + length);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException(o.getBucketName() + "/" + o.getKey());
+                }
+            }
+            buffer.flip();
+            return buffer.asReadOnlyBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized void hit() {
+        hits++;
+    }
+
+    /**
+     * 下载到临时文件后原子重命名，登记并淘汰超出上限的缓存；下载期间发生写操作时登记为未校验，下次读取重新校验
+     */
+    private Entry store(String id, OSSObject ossObject, long loadGeneration) throws IOException {
+        String eTag = ossObject.getObjectMetadata().getETag();
+        Path path = directory.resolve(id + "." + encode(eTag));
+        Path temp = Files.createTempFile(directory, id, ".tmp");
+        try {
+            try (InputStream stream = ossObject.getObjectContent()) {
+                Files.copy(stream, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        Entry entry = new Entry(id, eTag, path, Files.size(path), System.nanoTime());
+        List<Path> evicted = new ArrayList<>();
+        synchronized (this) {
+            if (generation != loadGeneration) {
+                entry.validated = 0;
+            }
+            Entry old = entries.put(id, entry);
+            if (old != null) {
+                bytes -= old.length;
+                if (!old.path.equals(path)) {
+                    evicted.add(old.path);
+                }
+            }
+            bytes += entry.length;
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext() && bytes > maxBytes; ) {
+                Entry eldest = it.next();
+                if (eldest == entry) {
+                    continue;
+                }
+                it.remove();
+                bytes -= eldest.length;
+                evicted.add(eldest.path);
+            }
+        }
+        for (Path p : evicted) {
+            delete(p);
+        }
+        return entry;
+    }
+
+    private void remove(Entry entry) {
+        synchronized (this) {
+            if (entries.get(entry.id) == entry) {
+                entries.remove(entry.id);
+                bytes -= entry.length;
+            }
+        }
+        delete(entry.path);
+    }
+
+    private static void touch(Entry entry) {
+        try {
+            // 重启后按修改时间恢复使用顺序
+            Files.setLastModifiedTime(entry.path, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignore) {
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignore) {
+            // 文件被占用等，下次启动时按索引外文件清理
+        }
+    }
+
+    /**
+     * 按修改时间重建索引，清理临时文件及无法识别的文件
+     */
+    private void load() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.forEach(files::add);
+        }
+        Map<Path, Long> lastModified = new HashMap<>();
+        for (Path file : files) {
+            lastModified.put(file, Files.getLastModifiedTime(file).toMillis());
+        }
+        files.sort(Comparator.comparing(lastModified::get));
+        for (Path file : files) {
+            Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+            String eTag = matcher.matches() ? decode(matcher.group("etag")) : null;
+            if (eTag == null || entries.containsKey(matcher.group("id"))) {
+                delete(file);
+                continue;
+            }
+            // 未校验，首次读取时发起条件GET
+            Entry entry = new Entry(matcher.group("id"), eTag, file, Files.size(file), 0);
+            entries.put(entry.id, entry);
+            bytes += entry.length;
+        }
+        List<Path> evicted = new ArrayList<>();
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext() && bytes > maxBytes; ) {
+            Entry eldest = it.next();
+            it.remove();
+            bytes -= eldest.length;
+            evicted.add(eldest.path);
+        }
+        evicted.forEach(AliyunOSSContentCache::delete);
+    }
+
+    private static String id(String bucketName, String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((bucketName + "/" + key).getBytes(StandardCharsets.UTF_8));
+            StringBuilder buffer = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                buffer.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return buffer.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String eTag) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(eTag.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String eTag) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(eTag), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 缓存项，或不缓存对象的响应
+     */
+    private static class Content {
+        final Entry entry;
+        final OSSObject object;
+
+        Content(Entry entry, OSSObject object) {
+            this.entry = entry;
+            this.object = object;
+        }
+    }
+
+    private static class Entry {
+        final String id;
+        final String eTag;
+        final Path path;
+        final long length;
+        /**
+         * 上次校验时间（System.nanoTime），0为未校验
+         */
+        volatile long validated;
+
+        Entry(String id, String eTag, Path path, long length, long validated) {
+            this.id = id;
+            this.eTag = eTag;
+            this.path = path;
+            this.length = length;
+            this.validated = validated;
+        }
+    }
+}
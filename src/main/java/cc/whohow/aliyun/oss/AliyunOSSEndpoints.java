@@ -1,31 +1,55 @@
 package cc.whohow.aliyun.oss;
 
+import com.aliyun.oss.OSSClient;
+
 import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * <a href="https://www.alibabacloud.com/help/zh/doc-detail/31837.htm">OSS开通Region和Endpoint对照表</a>
+ * <p>
+ * 每个地区首次使用时在后台探测外网、内网Endpoint的连接延迟，选择延迟最低的可达Endpoint，并定期刷新；
+ * 探测完成前返回外网Endpoint，不阻塞调用方。通过watch登记的客户端在选择变化时切换Endpoint。
  */
 public class AliyunOSSEndpoints {
     private static final String DEFAULT_ENDPOINT = "oss.aliyuncs.com";
-    private static final String DEFAULT_INTERNAL_ENDPOINT = "oss-internal.aliyuncs.com";
     private static final Pattern ENDPOINT = Pattern.compile("^(?<sub>.+)\\.aliyuncs\\.com$");
-    private static volatile CompletableFuture<Long> PING = CompletableFuture.supplyAsync(() -> ping(DEFAULT_INTERNAL_ENDPOINT));
+    private static final int PROBE_TIMEOUT = 1000;
+    private static final long PROBE_INTERVAL = 60L;
+    private static final Map<String, Region> REGIONS = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService PROBER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "aliyun-oss-endpoints");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public static String getDefaultEndpoint() {
         return DEFAULT_ENDPOINT;
     }
 
-    private static boolean isIntranet() {
-        return PING.join() > 0;
+    /**
+     * 当前延迟最低的可达Endpoint，不阻塞
+     */
+    public static String getEndpoint(String endpoint) {
+        return getRegion(endpoint).endpoint;
     }
 
-    public static String getEndpoint(String endpoint) {
-        return isIntranet() ? getIntranetEndpoint(endpoint) : getExtranetEndpoint(endpoint);
+    /**
+     * 登记客户端，Endpoint选择变化时切换（弱引用，不影响客户端回收）
+     */
+    public static void watch(String endpoint, OSSClient client) {
+        getRegion(endpoint).watch(client);
     }
 
     public static String getExtranetEndpoint(String endpoint) {
@@ -54,17 +78,95 @@ public class AliyunOSSEndpoints {
         throw new IllegalArgumentException(endpoint);
     }
 
-    private static long ping(String address) {
-        return ping(address, 1000);
+    private static Region getRegion(String endpoint) {
+        return REGIONS.computeIfAbsent(getExtranetEndpoint(endpoint), extranet -> {
+            Region region = new Region(extranet, getIntranetEndpoint(extranet));
+            PROBER.scheduleWithFixedDelay(region::probe, 0, PROBE_INTERVAL, TimeUnit.SECONDS);
+            return region;
+        });
     }
 
     private static long ping(String address, int timeout) {
-        long timestamp = System.currentTimeMillis();
+        long timestamp = System.nanoTime();
         try (Socket socket = new Socket()) {
             socket.connect(new InetSocketAddress(address, 80), timeout);
-            return System.currentTimeMillis() - timestamp;
+            return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - timestamp);
         } catch (IOException ignore) {
             return -1L;
         }
     }
+
+    private static class Region {
+        private final String extranet;
+        private final List<String> candidates;
+        /**
+         * 平滑后的连接延迟（微秒），不可达为-1
+         */
+        private final Map<String, Long> latencies = new ConcurrentHashMap<>();
+        private final List<WeakReference<OSSClient>> clients = new CopyOnWriteArrayList<>();
+        /**
+         * 已回收客户端的引用，登记及每次探测时清理，Endpoint不变时也不会累积
+         */
+        private final ReferenceQueue<OSSClient> collected = new ReferenceQueue<>();
+        private volatile String endpoint;
+
+        Region(String extranet, String intranet) {
+            this.extranet = extranet;
+            this.candidates = Arrays.asList(intranet, extranet);
+            this.endpoint = extranet;
+        }
+
+        void watch(OSSClient client) {
+            expunge();
+            clients.add(new WeakReference<>(client, collected));
+            // 客户端创建后探测可能已完成
+            client.setEndpoint(endpoint);
+        }
+
+        void probe() {
+            try {
+                expunge();
+                doProbe();
+            } catch (RuntimeException ignore) {
+                // 保持定期探测
+            }
+        }
+
+        private void doProbe() {
+            String best = extranet;
+            long bestLatency = Long.MAX_VALUE;
+            for (String candidate : candidates) {
+                long latency = ping(candidate, PROBE_TIMEOUT);
+                Long previous = latencies.get(candidate);
+                if (latency >= 0 && previous != null && previous >= 0) {
+                    // 指数平滑，避免偶发抖动导致来回切换；不可达立即生效
+                    latency = (previous * 3 + latency) / 4;
+                }
+                latencies.put(candidate, latency);
+                if (latency >= 0 && latency < bestLatency) {
+                    best = candidate;
+                    bestLatency = latency;
+                }
+            }
+            if (!best.equals(endpoint)) {
+                endpoint = best;
+                for (WeakReference<OSSClient> reference : clients) {
+                    OSSClient client = reference.get();
+                    if (client != null) {
+                        client.setEndpoint(best);
+                    }
+                }
+            }
+        }
+
+        private void expunge() {
+            List<Reference<? extends OSSClient>> references = new ArrayList<>();
+            for (Reference<? extends OSSClient> reference = collected.poll(); reference != null; reference = collected.poll()) {
+                references.add(reference);
+            }
+            if (!references.isEmpty()) {
+                clients.removeAll(references);
+            }
+        }
+    }
 }
@@ -5,17 +5,28 @@ import com.aliyun.oss.OSS;
 import com.aliyun.oss.OSSClient;
 import com.aliyun.oss.common.auth.DefaultCredentialProvider;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 public class AliyunOSSFactory implements Function<AliyunOSSUri, OSS> {
     private final ClientConfiguration clientConfiguration;
+    private final List<OSSInterceptor> interceptors;
 
     public AliyunOSSFactory() {
         this(new ClientConfiguration());
     }
 
     public AliyunOSSFactory(ClientConfiguration clientConfiguration) {
+        this(clientConfiguration, Collections.emptyList());
+    }
+
+    /**
+     * @param interceptors 拦截器，按顺序执行，所有拦截器共用一层代理
+     */
+    public AliyunOSSFactory(ClientConfiguration clientConfiguration, List<OSSInterceptor> interceptors) {
         this.clientConfiguration = clientConfiguration;
+        this.interceptors = interceptors;
     }
 
     @Override
@@ -23,9 +34,14 @@ public class AliyunOSSFactory implements Function<AliyunOSSUri, OSS> {
         if (uri.getAccessKeyId() == null || uri.getSecretAccessKey() == null || uri.getEndpoint() == null) {
             throw new IllegalArgumentException(uri.toString());
         }
-        return new OSSClient(
+        OSSClient client = new OSSClient(
                 AliyunOSSEndpoints.getEndpoint(uri.getEndpoint()),
                 new DefaultCredentialProvider(uri.getAccessKeyId(), uri.getSecretAccessKey()),
                 clientConfiguration);
+        AliyunOSSEndpoints.watch(uri.getEndpoint(), client);
+        if (interceptors.isEmpty()) {
+            return client;
+        }
+        return InterceptingOSSProxy.newProxy(client, interceptors);
     }
 }
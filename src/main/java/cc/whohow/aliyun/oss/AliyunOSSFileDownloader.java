@@ -0,0 +1,168 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.common.utils.CRC64;
+import com.aliyun.oss.internal.OSSHeaders;
+import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.OSSObject;
+import com.aliyun.oss.model.ObjectMetadata;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * 分块并行下载文件
+ * <p>
+ * 按范围拆分对象并发下载，每个范围直接写入目标文件对应位置；所有范围请求以If-Match固定到同一ETag，
+ * 单个范围失败时从已写入位置重试，下载完成后可选校验CRC64
+ */
+public class AliyunOSSFileDownloader implements Callable<ObjectMetadata> {
+    public static final long DEFAULT_PART_SIZE = 8L * 1024L * 1024L;
+    public static final int DEFAULT_PARALLELISM = 8;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    private final OSS oss;
+    private final String bucketName;
+    private final String key;
+    private final File file;
+    private final Executor executor;
+    private long partSize = DEFAULT_PART_SIZE;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private boolean checkCRC = false;
+
+    public AliyunOSSFileDownloader(OSS oss, String bucketName, String key, File file, Executor executor) {
+        this.oss = oss;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.file = file;
+        this.executor = executor;
+    }
+
+    public AliyunOSSFileDownloader setPartSize(long partSize) {
+        if (partSize <= 0) {
+            throw new IllegalArgumentException("partSize: " + partSize);
+        }
+        this.partSize = partSize;
+        return this;
+    }
+
+    public AliyunOSSFileDownloader setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public AliyunOSSFileDownloader setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    public AliyunOSSFileDownloader setCheckCRC(boolean checkCRC) {
+        this.checkCRC = checkCRC;
+        return this;
+    }
+
+    @Override
+    public ObjectMetadata call() {
+        return call(oss.getObjectMetadata(bucketName, key));
+    }
+
+    /**
+     * 按已知的对象属性下载（如列举结果），省去一次HEAD请求
+     */
+    public ObjectMetadata call(ObjectMetadata objectMetadata) {
+        long length = objectMetadata.getContentLength();
+        String eTag = objectMetadata.getETag();
+        boolean completed = false;
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+            randomAccessFile.setLength(length);
+            FileChannel channel = randomAccessFile.getChannel();
+            List<Callable<Long>> ranges = new ArrayList<>();
+            for (long start = 0; start < length; start += partSize) {
+                long begin = start;
+                long end = Math.min(start + partSize, length) - 1;
+                ranges.add(() -> download(channel, eTag, begin, end));
+            }
+            AliyunOSSTasks.invokeAll(executor, parallelism, ranges);
+            if (checkCRC) {
+                checkCRC(channel, objectMetadata);
+            }
+            completed = true;
+            return objectMetadata;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (!completed) {
+                file.delete();
+            }
+        }
+    }
+
+    private long download(FileChannel channel, String eTag, long begin, long end) throws IOException {
+        long position = begin;
+        int retries = 0;
+        while (true) {
+            GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, key);
+            getObjectRequest.setRange(position, end);
+            getObjectRequest.setMatchingETagConstraints(Collections.singletonList(eTag));
+            try (OSSObject object = oss.getObject(getObjectRequest);
+                 ReadableByteChannel source = Channels.newChannel(object.getObjectContent())) {
+                while (position <= end) {
+                    long n = channel.transferFrom(source, position, end - position + 1);
+                    if (n <= 0) {
+                        throw new IOException("Unexpected end of stream: " + this + " " + position);
+                    }
+                    position += n;
+                }
+                return end - begin + 1;
+            } catch (IOException | ClientException e) {
+                // ETag不匹配等服务端错误为OSSException，不重试
+                if (++retries > maxRetries) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void checkCRC(FileChannel channel, ObjectMetadata objectMetadata) throws IOException {
+        Object serverCRC = objectMetadata.getRawMetadata().get(OSSHeaders.OSS_HASH_CRC64_ECMA);
+        if (serverCRC == null) {
+            return;
+        }
+        CRC64 crc = new CRC64();
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long position = 0;
+        while (true) {
+            buffer.clear();
+            int n = channel.read(buffer, position);
+            if (n < 0) {
+                break;
+            }
+            crc.update(buffer.array(), 0, n);
+            position += n;
+        }
+        if (crc.getValue() != Long.parseUnsignedLong(serverCRC.toString())) {
+            throw new IOException("CRC64 mismatch: " + this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "oss://" + bucketName + "/" + key + " -> " + file;
+    }
+}
@@ -0,0 +1,37 @@
+package cc.whohow.aliyun.oss;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.LaxRedirectStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 上传链接使用的HTTP客户端，连接池复用长连接
+ */
+public class AliyunOSSHttpClients {
+    public static final int DEFAULT_MAX_CONN_PER_ROUTE = 64;
+    public static final int DEFAULT_MAX_CONN_TOTAL = 256;
+    private static final long MAX_IDLE_TIME = 60L;
+
+    /**
+     * 进程内共享的默认客户端，首次使用时创建
+     */
+    public static CloseableHttpClient getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public static CloseableHttpClient create(int maxConnPerRoute, int maxConnTotal) {
+        return HttpClientBuilder.create()
+                .setMaxConnPerRoute(maxConnPerRoute)
+                .setMaxConnTotal(maxConnTotal)
+                .setRedirectStrategy(LaxRedirectStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(MAX_IDLE_TIME, TimeUnit.SECONDS)
+                .build();
+    }
+
+    private static class DefaultHolder {
+        private static final CloseableHttpClient INSTANCE = create(DEFAULT_MAX_CONN_PER_ROUTE, DEFAULT_MAX_CONN_TOTAL);
+    }
+}
@@ -0,0 +1,178 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.model.*;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 单个Bucket的对象元数据缓存
+ * <p>
+ * 超过TTL重新加载，超出容量按最近最少使用顺序淘汰，读取返回副本。
+ * 作为拦截器挂在客户端上，写操作（上传、追加、复制、删除、合并分块等）发起前及完成后失效对应Key；
+ * 加载期间发生写操作时，加载结果不写入缓存。
+ */
+public class AliyunOSSMetadataCache implements OSSInterceptor {
+    static final Set<String> WRITE_OPERATIONS = new HashSet<>(Arrays.asList(
+            "putObject", "appendObject", "copyObject", "completeMultipartUpload", "uploadFile",
+            "deleteObject", "deleteObjects", "setObjectAcl", "restoreObject", "createSymlink"));
+
+    private final String bucketName;
+    private final int maxSize;
+    private final long ttl;
+    private final Map<String, CachedMetadata> entries = new LinkedHashMap<String, CachedMetadata>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedMetadata> eldest) {
+            return size() > maxSize;
+        }
+    };
+    private long generation;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param maxSize 缓存对象数上限，0为不缓存
+     * @param ttl     缓存有效期
+     */
+    public AliyunOSSMetadataCache(String bucketName, int maxSize, Duration ttl) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize: " + maxSize);
+        }
+        this.bucketName = bucketName;
+        this.maxSize = maxSize;
+        this.ttl = ttl.toNanos();
+    }
+
+    /**
+     * 不缓存
+     */
+    public static AliyunOSSMetadataCache disabled(String bucketName) {
+        return new AliyunOSSMetadataCache(bucketName, 0, Duration.ZERO);
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0 && ttl > 0;
+    }
+
+    /**
+     * 读取元数据，未缓存或已过期时调用loader加载
+     */
+    public ObjectMetadata get(String key, Function<String, ObjectMetadata> loader) {
+        if (!isEnabled()) {
+            return loader.apply(key);
+        }
+        long loadGeneration;
+        synchronized (this) {
+            CachedMetadata entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.timestamp < ttl) {
+                hits++;
+                return copyOf(entry.objectMetadata);
+            }
+            misses++;
+            loadGeneration = generation;
+        }
+        long timestamp = System.nanoTime();
+        ObjectMetadata objectMetadata = loader.apply(key);
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, new CachedMetadata(copyOf(objectMetadata), timestamp));
+            }
+        }
+        return objectMetadata;
+    }
+
+    public synchronized void invalidate(String key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public Object intercept(OSSInvocation invocation) throws Throwable {
+        if (!WRITE_OPERATIONS.contains(invocation.getOperation()) ||
+                !bucketName.equals(invocation.getBucketName())) {
+            return invocation.proceed();
+        }
+        Collection<String> keys = getKeys(invocation);
+        invalidate(keys);
+        try {
+            return invocation.proceed();
+        } finally {
+            invalidate(keys);
+        }
+    }
+
+    private void invalidate(Collection<String> keys) {
+        if (keys == null) {
+            invalidateAll();
+        } else {
+            synchronized (this) {
+                generation++;
+                for (String key : keys) {
+                    entries.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * 写操作涉及的Key（复制为目标Key），无法识别时返回null（全部失效）
+     */
+    static Collection<String> getKeys(OSSInvocation invocation) {
+        Object[] args = invocation.getArguments();
+        if (args.length >= 1) {
+            Object arg = args[0];
+            if (arg instanceof DeleteObjectsRequest) {
+                return ((DeleteObjectsRequest) arg).getKeys();
+            }
+            if (arg instanceof CreateSymlinkRequest) {
+                return Collections.singleton(((CreateSymlinkRequest) arg).getSymlink());
+            }
+        }
+        String key = invocation.getKey();
+        return key == null ? null : Collections.singleton(key);
+    }
+
+    /**
+     * 完整复制元数据（含ETag、长度等响应头）
+     */
+    static ObjectMetadata copyOf(ObjectMetadata source) {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        for (Map.Entry<String, Object> header : source.getRawMetadata().entrySet()) {
+            objectMetadata.setHeader(header.getKey(), header.getValue());
+        }
+        objectMetadata.setUserMetadata(new LinkedHashMap<>(source.getUserMetadata()));
+        return objectMetadata;
+    }
+
+    private static class CachedMetadata {
+        final ObjectMetadata objectMetadata;
+        final long timestamp;
+
+        CachedMetadata(ObjectMetadata objectMetadata, long timestamp) {
+            this.objectMetadata = objectMetadata;
+            this.timestamp = timestamp;
+        }
+    }
+}
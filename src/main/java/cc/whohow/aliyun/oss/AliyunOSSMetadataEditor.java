@@ -0,0 +1,107 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.internal.OSSHeaders;
+import com.aliyun.oss.model.ObjectMetadata;
+
+import java.util.*;
+
+/**
+ * 文件属性编辑，累积修改，由AliyunOSSObject.setObjectMetadata(editor)一次读取属性、一次复制自身提交
+ * <p>
+ * 属性名规则同AliyunOSSObjectMetadata：标准头作为HTTP头，其他作为用户属性；值为null时删除
+ */
+public class AliyunOSSMetadataEditor {
+    /**
+     * 响应头，复制时不作为新属性提交
+     */
+    private static final Set<String> RESPONSE_HEADERS = new HashSet<>(Arrays.asList(
+            OSSHeaders.ETAG.toLowerCase(),
+            OSSHeaders.CONTENT_LENGTH.toLowerCase(),
+            OSSHeaders.LAST_MODIFIED.toLowerCase(),
+            OSSHeaders.DATE.toLowerCase(),
+            OSSHeaders.CONTENT_MD5.toLowerCase(),
+            OSSHeaders.OSS_HEADER_REQUEST_ID.toLowerCase(),
+            OSSHeaders.OSS_HASH_CRC64_ECMA.toLowerCase(),
+            OSSHeaders.OSS_OBJECT_TYPE.toLowerCase(),
+            OSSHeaders.OSS_NEXT_APPEND_POSITION.toLowerCase(),
+            "server",
+            "connection",
+            "accept-ranges"));
+
+    private final Map<String, Object> headers = new LinkedHashMap<>();
+    private final Map<String, String> userMetadata = new LinkedHashMap<>();
+
+    /**
+     * 设置属性，值为null时删除
+     */
+    public AliyunOSSMetadataEditor set(String name, Object value) {
+        name = AliyunOSSObjectMetadata.normalizeName(name);
+        if (AliyunOSSObjectMetadata.isRawMetaData(name)) {
+            headers.put(name, value);
+        } else {
+            userMetadata.put(name, value == null ? null : String.valueOf(value));
+        }
+        return this;
+    }
+
+    public AliyunOSSMetadataEditor setAll(Map<String, ?> attributes) {
+        attributes.forEach(this::set);
+        return this;
+    }
+
+    public AliyunOSSMetadataEditor remove(String name) {
+        return set(name, null);
+    }
+
+    public AliyunOSSMetadataEditor setContentType(String contentType) {
+        return set(OSSHeaders.CONTENT_TYPE, contentType);
+    }
+
+    public AliyunOSSMetadataEditor setCacheControl(String cacheControl) {
+        return set(OSSHeaders.CACHE_CONTROL, cacheControl);
+    }
+
+    public AliyunOSSMetadataEditor setLastModified(Date lastModified) {
+        return set(OSSHeaders.LAST_MODIFIED, lastModified);
+    }
+
+    public boolean isEmpty() {
+        return headers.isEmpty() && userMetadata.isEmpty();
+    }
+
+    /**
+     * 在当前属性上应用修改，生成新属性
+     */
+    public ObjectMetadata apply(ObjectMetadata current) {
+        Map<String, Object> newHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, Object> header : current.getRawMetadata().entrySet()) {
+            if (!RESPONSE_HEADERS.contains(header.getKey().toLowerCase())) {
+                newHeaders.put(header.getKey(), header.getValue());
+            }
+        }
+        Map<String, String> newUserMetadata = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        newUserMetadata.putAll(current.getUserMetadata());
+        apply(headers, newHeaders);
+        apply(userMetadata, newUserMetadata);
+
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        newHeaders.forEach(objectMetadata::setHeader);
+        objectMetadata.setUserMetadata(new LinkedHashMap<>(newUserMetadata));
+        return objectMetadata;
+    }
+
+    private static <V> void apply(Map<String, V> changes, Map<String, V> target) {
+        for (Map.Entry<String, V> change : changes.entrySet()) {
+            if (change.getValue() == null) {
+                target.remove(change.getKey());
+            } else {
+                target.put(change.getKey(), change.getValue());
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "headers=" + headers + " userMetadata=" + userMetadata;
+    }
+}
@@ -0,0 +1,246 @@
+package cc.whohow.aliyun.oss;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OSS请求统计，按操作及Bucket记录延迟分布、请求数、按错误码分类的错误数、上下行字节数
+ */
+public class AliyunOSSMetrics implements AliyunOSSMetricsMXBean {
+    private final Map<String, Map<String, OperationMetrics>> operations = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次请求
+     *
+     * @param errorCode 错误码，成功时为null
+     */
+    public void record(String operation, String bucketName, long nanos, String errorCode, long bytesOut) {
+        OperationMetrics metrics = get(operation, bucketName);
+        metrics.count.increment();
+        metrics.latency.record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        if (errorCode != null) {
+            metrics.errors.computeIfAbsent(errorCode, k -> new LongAdder()).increment();
+        }
+        if (bytesOut > 0) {
+            metrics.bytesOut.add(bytesOut);
+        }
+    }
+
+    /**
+     * 记录下行字节数（响应体读取时）
+     */
+    public void recordBytesIn(String operation, String bucketName, long bytesIn) {
+        get(operation, bucketName).bytesIn.add(bytesIn);
+    }
+
+    @Override
+    public List<Snapshot> getSnapshots() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        for (Map.Entry<String, Map<String, OperationMetrics>> operation : operations.entrySet()) {
+            for (Map.Entry<String, OperationMetrics> bucket : operation.getValue().entrySet()) {
+                snapshots.add(bucket.getValue().snapshot(operation.getKey(), bucket.getKey()));
+            }
+        }
+        snapshots.sort(Comparator.comparing(Snapshot::getOperation).thenComparing(Snapshot::getBucketName));
+        return snapshots;
+    }
+
+    @Override
+    public void reset() {
+        operations.clear();
+    }
+
+    /**
+     * 注册到JMX，ObjectName为cc.whohow.aliyun.oss:type=Metrics,name={name}
+     */
+    public ObjectName register(String name) {
+        try {
+            ObjectName objectName = new ObjectName("cc.whohow.aliyun.oss:type=Metrics,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void unregister(ObjectName objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private OperationMetrics get(String operation, String bucketName) {
+        return operations.computeIfAbsent(operation, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(bucketName == null ? "" : bucketName, k -> new OperationMetrics());
+    }
+
+    private static class OperationMetrics {
+        final LongAdder count = new LongAdder();
+        final LongAdder bytesIn = new LongAdder();
+        final LongAdder bytesOut = new LongAdder();
+        final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        final Histogram latency = new Histogram();
+
+        Snapshot snapshot(String operation, String bucketName) {
+            Map<String, Long> errorCounts = new TreeMap<>();
+            errors.forEach((code, n) -> errorCounts.put(code, n.sum()));
+            long[] counts = latency.counts();
+            return new Snapshot(operation, bucketName, count.sum(), errorCounts, bytesIn.sum(), bytesOut.sum(),
+                    Histogram.percentile(counts, 0.5),
+                    Histogram.percentile(counts, 0.99),
+                    Histogram.percentile(counts, 0.999),
+                    Histogram.percentile(counts, 1.0));
+        }
+    }
+
+    /**
+     * 对数分桶直方图，每个2的幂区间再分8个子桶，相对误差不超过12.5%
+     */
+    static class Histogram {
+        private static final int LINEAR = 16;
+        private static final int SUB_BUCKETS = 8;
+        private static final int BUCKETS = LINEAR + (64 - 4) * SUB_BUCKETS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        void record(long value) {
+            buckets.incrementAndGet(index(Math.max(value, 0)));
+        }
+
+        long[] counts() {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return counts;
+        }
+
+        static int index(long value) {
+            if (value < LINEAR) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - 3)) & (SUB_BUCKETS - 1);
+            return LINEAR + (exponent - 4) * SUB_BUCKETS + sub;
+        }
+
+        /**
+         * 桶上界
+         */
+        static long upperBound(int index) {
+            if (index < LINEAR) {
+                return index;
+            }
+            int exponent = (index - LINEAR) / SUB_BUCKETS + 4;
+            int sub = (index - LINEAR) % SUB_BUCKETS;
+            return ((long) (SUB_BUCKETS + sub + 1) << (exponent - 3)) - 1;
+        }
+
+        static long percentile(long[] counts, double percentile) {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * percentile));
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i];
+                if (cumulative >= rank) {
+                    return upperBound(i);
+                }
+            }
+            return upperBound(counts.length - 1);
+        }
+    }
+
+    /**
+     * 统计快照，延迟单位为微秒
+     */
+    public static class Snapshot {
+        private final String operation;
+        private final String bucketName;
+        private final long count;
+        private final Map<String, Long> errors;
+        private final long bytesIn;
+        private final long bytesOut;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long max;
+
+        public Snapshot(String operation, String bucketName, long count, Map<String, Long> errors,
+                        long bytesIn, long bytesOut, long p50, long p99, long p999, long max) {
+            this.operation = operation;
+            this.bucketName = bucketName;
+            this.count = count;
+            this.errors = errors;
+            this.bytesIn = bytesIn;
+            this.bytesOut = bytesOut;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.max = max;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public String getBucketName() {
+            return bucketName;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * 按错误码分类的错误数
+         */
+        public Map<String, Long> getErrors() {
+            return errors;
+        }
+
+        public long getBytesIn() {
+            return bytesIn;
+        }
+
+        public long getBytesOut() {
+            return bytesOut;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getP999() {
+            return p999;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return operation + " " + bucketName + " count=" + count + " errors=" + errors +
+                    " bytesIn=" + bytesIn + " bytesOut=" + bytesOut +
+                    " p50=" + p50 + "us p99=" + p99 + "us p999=" + p999 + "us max=" + max + "us";
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package cc.whohow.aliyun.oss;
+
+import java.util.List;
+
+/**
+ * OSS请求统计JMX接口
+ */
+public interface AliyunOSSMetricsMXBean {
+    List<AliyunOSSMetrics.Snapshot> getSnapshots();
+
+    void reset();
+}
@@ -0,0 +1,254 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * OSS写入流，通过分块上传实现
+ * <p>
+ * 写满一个分块即提交到线程池并行上传，调用方继续写入下一个分块；同时上传的分块数有上限，内存占用有界。
+ * 关闭时如果数据不足一个分块，退化为一次putObject。
+ */
+public class AliyunOSSMultipartOutputStream extends OutputStream {
+    public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_MAX_PARTS_IN_FLIGHT = 4;
+    /**
+     * OSS分块大小下限（最后一块除外）
+     */
+    public static final int MIN_PART_SIZE = 100 * 1024;
+    /**
+     * OSS分块数上限
+     */
+    public static final int MAX_PARTS = 10000;
+    /**
+     * 首个缓冲区初始大小，按需倍增至分块大小，小文件不占用整块内存
+     */
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    private final OSS oss;
+    private final String bucketName;
+    private final String key;
+    private final ObjectMetadata objectMetadata;
+    private final int partSize;
+    private final int maxPartsInFlight;
+    private final Executor executor;
+    private final Deque<FutureTask<PartETag>> partsInFlight = new ArrayDeque<>();
+    private final List<PartETag> partETags = new ArrayList<>();
+    private byte[] buffer;
+    private int count;
+    private int partNumber;
+    private String uploadId;
+    private String eTag;
+    private boolean closed;
+
+    public AliyunOSSMultipartOutputStream(OSS oss, String bucketName, String key, Executor executor) {
+        this(oss, bucketName, key, new ObjectMetadata(), DEFAULT_PART_SIZE, DEFAULT_MAX_PARTS_IN_FLIGHT, executor);
+    }
+
+    public AliyunOSSMultipartOutputStream(OSS oss, String bucketName, String key, ObjectMetadata objectMetadata,
+                                          int partSize, int maxPartsInFlight, Executor executor) {
+        if (partSize < MIN_PART_SIZE) {
+            throw new IllegalArgumentException("partSize: " + partSize);
+        }
+        if (maxPartsInFlight <= 0) {
+            throw new IllegalArgumentException("maxPartsInFlight: " + maxPartsInFlight);
+        }
+        this.oss = oss;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.objectMetadata = objectMetadata == null ? new ObjectMetadata() : objectMetadata;
+        this.partSize = partSize;
+        this.maxPartsInFlight = maxPartsInFlight;
+        this.executor = executor;
+        this.buffer = new byte[Math.min(INITIAL_BUFFER_SIZE, partSize)];
+    }
+
+    public OSS getOSS() {
+        return oss;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 上传完成后的ETag，未关闭时为null
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        ensureCapacity(count + 1);
+        buffer[count++] = (byte) b;
+        if (count == partSize) {
+            submitPart();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureOpen();
+        while (len > 0) {
+            int n = Math.min(len, partSize - count);
+            ensureCapacity(count + n);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == partSize) {
+                submitPart();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (uploadId == null) {
+                // 小文件，直接上传
+                objectMetadata.setContentLength(count);
+                eTag = oss.putObject(bucketName, key, new ByteArrayInputStream(buffer, 0, count), objectMetadata)
+                        .getETag();
+                buffer = null;
+                return;
+            }
+            if (count > 0) {
+                doSubmitPart();
+            }
+            while (!partsInFlight.isEmpty()) {
+                awaitPart();
+            }
+            partETags.sort(Comparator.comparingInt(PartETag::getPartNumber));
+            eTag = oss.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags)).getETag();
+        } catch (IOException | RuntimeException e) {
+            abortUpload();
+            throw e;
+        } finally {
+            buffer = null;
+        }
+    }
+
+    /**
+     * 放弃上传，已上传的分块被清理，目标对象不会被创建或覆盖
+     */
+    public void abort() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        buffer = null;
+        abortUpload();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            byte[] newBuffer = new byte[Math.min(partSize, Math.max(capacity, buffer.length * 2))];
+            System.arraycopy(buffer, 0, newBuffer, 0, count);
+            buffer = newBuffer;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private void submitPart() throws IOException {
+        try {
+            doSubmitPart();
+        } catch (IOException | RuntimeException e) {
+            closed = true;
+            buffer = null;
+            abortUpload();
+            throw e;
+        }
+    }
+
+    private void doSubmitPart() throws IOException {
+        if (uploadId == null) {
+            uploadId = oss.initiateMultipartUpload(
+                    new InitiateMultipartUploadRequest(bucketName, key, objectMetadata)).getUploadId();
+        }
+        while (partsInFlight.size() >= maxPartsInFlight ||
+                (!partsInFlight.isEmpty() && partsInFlight.peekFirst().isDone())) {
+            awaitPart();
+        }
+        byte[] data = buffer;
+        int length = count;
+        int number = ++partNumber;
+        FutureTask<PartETag> task = new FutureTask<>(() -> uploadPart(number, data, length));
+        partsInFlight.addLast(task);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+        buffer = new byte[partSize];
+        count = 0;
+    }
+
+    private PartETag uploadPart(int number, byte[] data, int length) {
+        UploadPartRequest uploadPartRequest = new UploadPartRequest(bucketName, key, uploadId, number,
+                new ByteArrayInputStream(data, 0, length), length);
+        return oss.uploadPart(uploadPartRequest).getPartETag();
+    }
+
+    /**
+     * 等待最早提交的分块完成；若线程池尚未执行该分块，由当前线程执行，避免在有界线程池中互相等待
+     */
+    private void awaitPart() throws IOException {
+        FutureTask<PartETag> task = partsInFlight.removeFirst();
+        task.run();
+        try {
+            partETags.add(task.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void abortUpload() {
+        for (FutureTask<PartETag> task : partsInFlight) {
+            task.cancel(false);
+        }
+        partsInFlight.clear();
+        if (uploadId != null) {
+            try {
+                oss.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            } catch (RuntimeException ignore) {
+            }
+        }
+    }
+}
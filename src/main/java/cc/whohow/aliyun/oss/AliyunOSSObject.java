@@ -6,29 +6,29 @@ import cc.whohow.vfs.path.PathParser;
 import cc.whohow.vfs.tree.FileTree;
 import cc.whohow.vfs.tree.TreePreOrderIterator;
 import com.aliyun.oss.OSS;
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.internal.OSSHeaders;
 import com.aliyun.oss.model.*;
-import org.apache.http.Header;
-import org.apache.http.HttpEntity;
-import org.apache.http.HttpStatus;
-import org.apache.http.client.methods.CloseableHttpResponse;
-import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 
 import java.io.*;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
-import java.util.Date;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * 阿里云 OSS 对象
@@ -36,17 +36,42 @@ import java.util.stream.Collectors;
  * @see com.aliyun.oss.model.OSSObject
  */
 public class AliyunOSSObject {
+    /**
+     * 文件夹上传时，不小于该大小的文件分块上传
+     */
+    public static final long MULTIPART_UPLOAD_THRESHOLD = 32L * 1024L * 1024L;
+    /**
+     * 文件夹下载时，不小于该大小的文件分块并行下载
+     */
+    public static final long RANGED_DOWNLOAD_THRESHOLD = 32L * 1024L * 1024L;
+    /**
+     * 在调用线程中执行，并行接口退化为串行
+     */
+    public static final Executor DIRECT_EXECUTOR = Runnable::run;
+    private static final int DELETE_OBJECTS_BATCH_SIZE = 1000;
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 8;
+
     protected final OSS oss;
     protected final String bucketName;
     protected final String key;
+    protected final Executor executor;
 
     public AliyunOSSObject(OSS oss, String bucketName, String key) {
+        this(oss, bucketName, key, DIRECT_EXECUTOR);
+    }
+
+    /**
+     * @param executor 并行任务执行器，分块上传下载、预取、递归复制删除等并行接口使用
+     */
+    public AliyunOSSObject(OSS oss, String bucketName, String key, Executor executor) {
         Objects.requireNonNull(oss);
         Objects.requireNonNull(bucketName);
         Objects.requireNonNull(key);
+        Objects.requireNonNull(executor);
         this.oss = oss;
         this.bucketName = bucketName;
         this.key = key;
+        this.executor = executor;
     }
 
     public OSS getOSS() {
@@ -61,18 +86,52 @@ public class AliyunOSSObject {
         return key;
     }
 
+    /**
+     * 并行任务执行器，未指定时在调用线程中执行
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * 上传链接使用的HTTP客户端，默认为进程内共享的连接池
+     */
+    public CloseableHttpClient getHttpClient() {
+        return AliyunOSSHttpClients.getDefault();
+    }
+
+    /**
+     * 内容磁盘缓存，为null时不缓存（默认）
+     */
+    public AliyunOSSContentCache getContentCache() {
+        return null;
+    }
+
     /**
      * 列出文件及文件夹
      */
     public AliyunOSSObjectListingIterator listObjects() {
-        return new AliyunOSSObjectListingIterator(oss, bucketName, key, "/");
+        return newObjectListingIterator(bucketName, key, "/");
     }
 
     /**
      * 递归列出文件及文件夹
      */
     public AliyunOSSObjectListingIterator listObjectsRecursively() {
-        return new AliyunOSSObjectListingIterator(oss, bucketName, key);
+        return newObjectListingIterator(bucketName, key, null);
+    }
+
+    /**
+     * 递归列出文件及文件夹，在执行器中异步预取后续分页；未指定执行器时不预取
+     */
+    public AliyunOSSObjectListingIterator listObjectsRecursively(int prefetch) {
+        Executor executor = getExecutor();
+        if (executor == DIRECT_EXECUTOR) {
+            // 同步预取只会提前阻塞
+            return listObjectsRecursively();
+        }
+        return new AliyunOSSObjectListingPrefetchIterator(oss,
+                new ListObjectsRequest(bucketName, key, null, null, 1000), executor, prefetch);
     }
 
     /**
@@ -89,6 +148,26 @@ public class AliyunOSSObject {
         return new AliyunOSSObjectSummaryIterator(listObjectsRecursively());
     }
 
+    /**
+     * 并行递归列出文件，按子目录拆分后同时列举
+     *
+     * @param parallelism 最大并发列举数
+     * @param ordered     是否按键顺序输出
+     */
+    public Stream<OSSObjectSummary> listObjectSummariesRecursively(int parallelism, boolean ordered) {
+        Iterator<OSSObjectSummary> iterator = new AliyunOSSObjectSummaryParallelIterator(
+                oss, bucketName, key, getExecutor(), parallelism, ordered);
+        int characteristics = ordered ? Spliterator.ORDERED | Spliterator.NONNULL : Spliterator.NONNULL;
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, characteristics), false);
+    }
+
+    /**
+     * 创建对象遍历器，子类可替换为预取实现
+     */
+    protected AliyunOSSObjectListingIterator newObjectListingIterator(String bucketName, String prefix, String delimiter) {
+        return new AliyunOSSObjectListingIterator(oss, bucketName, prefix, delimiter);
+    }
+
     /**
      * 上传
      */
@@ -121,17 +200,62 @@ public class AliyunOSSObject {
      * 上传文件夹
      */
     public int putObjectRecursively(File directory) {
-        int count = 0;
+        return (int) putObjectRecursively(directory, AliyunOSSTasks.DEFAULT_PARALLELISM, MULTIPART_UPLOAD_THRESHOLD)
+                .throwIfFailed()
+                .getCount();
+    }
+
+    /**
+     * 并行上传文件夹
+     * <p>
+     * 按文件大小降序调度：大文件先行并分块上传，小文件随后填满空闲的工作线程，避免尾部长任务拖慢整体
+     *
+     * @param parallelism        同时上传的文件数
+     * @param multipartThreshold 不小于该大小的文件分块上传
+     */
+    public AliyunOSSBatchResult putObjectRecursively(File directory, int parallelism, long multipartThreshold) {
         URI directoryUri = directory.toURI();
+        List<File> files = new ArrayList<>();
         for (File file : new FileTree(directory, TreePreOrderIterator::new)) {
             if (file.isFile()) {
-                String relativePath = PathParser.relativize(directoryUri, file.toURI());
-                String targetKey = key + relativePath;
-                oss.putObject(bucketName, targetKey, file);
-                count++;
+                files.add(file);
             }
         }
-        return count;
+        Map<File, Long> lengths = new HashMap<>(files.size() * 2);
+        for (File file : files) {
+            lengths.put(file, file.length());
+        }
+        files.sort(Comparator.comparing(lengths::get, Comparator.reverseOrder()));
+
+        return AliyunOSSTasks.forEach(getExecutor(), parallelism, files.iterator(), File::getPath, (file, result) -> {
+            String targetKey = key + PathParser.relativize(directoryUri, file.toURI());
+            long length = lengths.get(file);
+            if (length >= multipartThreshold) {
+                // 不写断点文件：源文件夹可能只读，断点文件也会混入源文件夹
+                UploadFileRequest uploadFileRequest = newUploadFileRequest(targetKey, file, length);
+                uploadFileRequest.setEnableCheckpoint(false);
+                try {
+                    oss.uploadFile(uploadFileRequest);
+                } catch (Throwable e) {
+                    throw AliyunOSSTasks.propagate(e);
+                }
+            } else {
+                oss.putObject(bucketName, targetKey, file);
+            }
+            result.addSuccess(length);
+        });
+    }
+
+    /**
+     * 分块上传请求，分块大小随文件增大，不超过分块数上限
+     */
+    protected UploadFileRequest newUploadFileRequest(String targetKey, File file, long length) {
+        UploadFileRequest uploadFileRequest = new UploadFileRequest(bucketName, targetKey);
+        uploadFileRequest.setUploadFile(file.getAbsolutePath());
+        uploadFileRequest.setPartSize(Math.max(AliyunOSSMultipartOutputStream.DEFAULT_PART_SIZE,
+                (length + AliyunOSSMultipartOutputStream.MAX_PARTS - 1) / AliyunOSSMultipartOutputStream.MAX_PARTS));
+        uploadFileRequest.setTaskNum(AliyunOSSTasks.DEFAULT_PARALLELISM);
+        return uploadFileRequest;
     }
 
     /**
@@ -145,75 +269,79 @@ public class AliyunOSSObject {
      * 上传链接
      */
     public String putObject(URL url, ObjectMetadata objectMetadata) {
-        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
-            return putObject(httpClient, url, objectMetadata);
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        return putObject(getHttpClient(), url, objectMetadata);
     }
 
     /**
-     * 上传链接
+     * 上传链接，源站支持范围请求时分块并发下载上传
      */
-    protected String putObject(CloseableHttpClient httpClient, URL url, ObjectMetadata objectMetadata) {
-        try {
-            HttpUriRequest request = RequestBuilder.get(url.toURI()).build();
-            try (CloseableHttpResponse response = httpClient.execute(request)) {
-                if (response.getStatusLine().getStatusCode() >= HttpStatus.SC_BAD_REQUEST) {
-                    throw new IOException(response.getStatusLine().getReasonPhrase());
-                }
-                HttpEntity httpEntity = response.getEntity();
-                Header contentType = httpEntity.getContentType();
-                if (objectMetadata.getContentType() == null && contentType != null) {
-                    objectMetadata.setContentType(contentType.getValue());
-                }
-                if (httpEntity.getContentLength() > 0) {
-                    objectMetadata.setContentLength(httpEntity.getContentLength());
-                }
-                try (InputStream stream = httpEntity.getContent()) {
-                    return putObject(stream, objectMetadata);
-                }
-            }
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        } catch (URISyntaxException e) {
-            throw new IllegalArgumentException(e);
-        }
+    public String putObject(CloseableHttpClient httpClient, URL url, ObjectMetadata objectMetadata) {
+        return new AliyunOSSUrlUploader(httpClient, url, oss, bucketName, key, objectMetadata, getExecutor()).call();
     }
 
     /**
-     * 上传（复制） OSS 文件
+     * 异步上传链接
+     */
+    public CompletableFuture<String> putObjectAsync(URL url, ObjectMetadata objectMetadata, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> putObject(url, objectMetadata), executor);
+    }
+
+    /**
+     * 上传（复制） OSS 文件，分块并发传输，使用共享缓冲区池
      */
     public String putObject(AliyunOSSObject object) {
-        try (OSSObject ossObject = object.getObject()) {
-            return putObject(ossObject.getObjectContent(), ossObject.getObjectMetadata());
-        } catch (IOException e) {
-            throw new UncheckedIOException(e);
-        }
+        return putObject(object, TransferBufferPool.INSTANCE);
+    }
+
+    /**
+     * 上传（复制） OSS 文件，分块并发传输
+     */
+    public String putObject(AliyunOSSObject object, AliyunOSSBufferPool bufferPool) {
+        return newObjectTransfer(object, object.getKey(), key, bufferPool).call();
     }
 
     /**
      * 上传（复制） OSS 文件夹
      */
     public int putObjectRecursively(AliyunOSSObject object) {
-        int count = 0;
-        Iterator<OSSObjectSummary> iterator = object.listObjectSummariesRecursively();
-        while (iterator.hasNext()) {
-            OSSObjectSummary objectSummary = iterator.next();
-            try (OSSObject o = object.getOSS()
-                    .getObject(objectSummary.getBucketName(), objectSummary.getKey())) {
-                String targetKey = key + o.getKey().substring(object.getKey().length());
-                oss.putObject(bucketName, targetKey, o.getObjectContent(), o.getObjectMetadata());
-                count++;
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
+        return (int) putObjectRecursively(object, AliyunOSSTasks.DEFAULT_PARALLELISM, TransferBufferPool.INSTANCE)
+                .throwIfFailed()
+                .getCount();
+    }
+
+    /**
+     * 上传（复制） OSS 文件夹，多个文件同时传输，所有文件共享缓冲区池，内存占用不超过缓冲区池大小
+     *
+     * @param parallelism 同时传输的文件数
+     */
+    public AliyunOSSBatchResult putObjectRecursively(AliyunOSSObject object, int parallelism, AliyunOSSBufferPool bufferPool) {
+        return AliyunOSSTasks.forEach(getExecutor(), parallelism, object.listObjectSummariesRecursively(), OSSObjectSummary::getKey, (objectSummary, result) -> {
+            String targetKey = key + objectSummary.getKey().substring(object.getKey().length());
+            AliyunOSSObjectTransfer transfer = newObjectTransfer(object, objectSummary.getKey(), targetKey, bufferPool);
+            if (objectSummary.getSize() <= bufferPool.getBufferSize()) {
+                // 单块传输的属性取自GET响应，省去HEAD请求
+                ObjectMetadata objectMetadata = new ObjectMetadata();
+                objectMetadata.setContentLength(objectSummary.getSize());
+                objectMetadata.setHeader(OSSHeaders.ETAG, objectSummary.getETag());
+                transfer.call(objectMetadata);
+            } else {
+                transfer.call();
             }
-        }
-        return count;
+            result.addSuccess(objectSummary.getSize());
+        });
     }
 
+    protected AliyunOSSObjectTransfer newObjectTransfer(AliyunOSSObject source, String sourceKey, String targetKey,
+                                                        AliyunOSSBufferPool bufferPool) {
+        return new AliyunOSSObjectTransfer(source.getOSS(), source.getBucketName(), sourceKey,
+                oss, bucketName, targetKey, getExecutor(), bufferPool);
+    }
+
+    /**
+     * 同一客户端（账号、地区）可服务端复制；各文件系统的拦截器链代理包装同一客户端时也可复制
+     */
     public boolean isCopyable(AliyunOSSObject source) {
-        return source.getOSS().equals(getOSS());
+        return InterceptingOSSProxy.unwrap(source.getOSS()).equals(InterceptingOSSProxy.unwrap(getOSS()));
     }
 
     /**
@@ -224,10 +352,34 @@ public class AliyunOSSObject {
     }
 
     /**
-     * 复制 OSS 文件，要求同一地区
+     * 复制 OSS 文件，要求同一地区；先尝试一次copyObject，失败且源文件超过单次复制上限时分块并行复制
      */
     public String copyFromObject(String sourceBucketName, String sourceKey) {
-        return oss.copyObject(sourceBucketName, sourceKey, bucketName, key).getETag();
+        try {
+            return oss.copyObject(sourceBucketName, sourceKey, bucketName, key).getETag();
+        } catch (OSSException e) {
+            ObjectMetadata sourceMetadata;
+            try {
+                sourceMetadata = oss.getObjectMetadata(sourceBucketName, sourceKey);
+            } catch (RuntimeException ignore) {
+                throw e;
+            }
+            if (sourceMetadata.getContentLength() < AliyunOSSObjectCopier.DEFAULT_MULTIPART_THRESHOLD) {
+                throw e;
+            }
+            return copyFromObject(sourceBucketName, sourceKey, sourceMetadata);
+        }
+    }
+
+    /**
+     * 按已知的源文件属性（大小及ETag，如列举结果）复制，省去HEAD请求；大文件分块并行复制
+     */
+    public String copyFromObject(String sourceBucketName, String sourceKey, ObjectMetadata sourceMetadata) {
+        return newObjectCopier(sourceBucketName, sourceKey, key).call(sourceMetadata);
+    }
+
+    protected AliyunOSSObjectCopier newObjectCopier(String sourceBucketName, String sourceKey, String targetKey) {
+        return new AliyunOSSObjectCopier(oss, sourceBucketName, sourceKey, bucketName, targetKey, getExecutor());
     }
 
     /**
@@ -241,16 +393,31 @@ public class AliyunOSSObject {
      * 复制 OSS 文件夹，要求同一地区
      */
     public int copyFromObjectRecursively(String sourceBucketName, String sourceKey) {
-        int count = 0;
+        return (int) copyFromObjectRecursively(sourceBucketName, sourceKey, AliyunOSSTasks.DEFAULT_PARALLELISM)
+                .throwIfFailed()
+                .getCount();
+    }
+
+    /**
+     * 并发复制 OSS 文件夹，要求同一地区；单个文件失败不中断，失败项记录在结果中
+     */
+    public AliyunOSSBatchResult copyFromObjectRecursively(String sourceBucketName, String sourceKey, int parallelism) {
         Iterator<OSSObjectSummary> iterator = new AliyunOSSObjectSummaryIterator(
-                new AliyunOSSObjectListingIterator(oss, sourceBucketName, sourceKey));
-        while (iterator.hasNext()) {
-            OSSObjectSummary objectSummary = iterator.next();
+                newObjectListingIterator(sourceBucketName, sourceKey, null));
+        return AliyunOSSTasks.forEach(getExecutor(), parallelism, iterator, OSSObjectSummary::getKey, (objectSummary, result) -> {
             String targetKey = key + objectSummary.getKey().substring(sourceKey.length());
-            oss.copyObject(objectSummary.getBucketName(), objectSummary.getKey(), bucketName, targetKey);
-            count++;
-        }
-        return count;
+            AliyunOSSObjectCopier copier = newObjectCopier(objectSummary.getBucketName(), objectSummary.getKey(), targetKey);
+            if (objectSummary.getSize() < AliyunOSSObjectCopier.DEFAULT_MULTIPART_THRESHOLD) {
+                // 单次复制只需要ETag，省去HEAD请求
+                ObjectMetadata objectMetadata = new ObjectMetadata();
+                objectMetadata.setContentLength(objectSummary.getSize());
+                objectMetadata.setHeader(OSSHeaders.ETAG, objectSummary.getETag());
+                copier.call(objectMetadata);
+            } else {
+                copier.call();
+            }
+            result.addSuccess(objectSummary.getSize());
+        });
     }
 
     /**
@@ -261,37 +428,111 @@ public class AliyunOSSObject {
     }
 
     /**
-     * 下载到指定文件
+     * 下载到指定文件，单次请求
      */
     public ObjectMetadata getObject(File file) {
         return oss.getObject(new GetObjectRequest(bucketName, key), file);
     }
 
+    /**
+     * 下载到指定文件，先读取属性，再按范围分块并行下载；不大于partSize的文件仍为单次范围请求
+     */
+    public ObjectMetadata getObject(File file, long partSize, int parallelism, boolean checkCRC) {
+        return newFileDownloader(file)
+                .setPartSize(partSize)
+                .setParallelism(parallelism)
+                .setCheckCRC(checkCRC)
+                .call();
+    }
+
+    protected AliyunOSSFileDownloader newFileDownloader(File file) {
+        return new AliyunOSSFileDownloader(oss, bucketName, key, file, getExecutor());
+    }
+
     /**
      * 下载文件夹
      */
     public int getObjectRecursively(File directory) {
-        int count = 0;
-        AliyunOSSObjectListingIterator iterator = listObjectsRecursively();
-        while (iterator.hasNext()) {
-            ObjectListing objectListing = iterator.next();
-            for (OSSObjectSummary objectSummary : objectListing.getObjectSummaries()) {
-                File file = new File(directory, objectSummary.getKey().substring(key.length()));
-                file.getParentFile().mkdirs();
+        return (int) getObjectRecursively(directory, AliyunOSSTasks.DEFAULT_PARALLELISM, RANGED_DOWNLOAD_THRESHOLD)
+                .throwIfFailed()
+                .getCount();
+    }
+
+    /**
+     * 并行下载文件夹，边列举边下载，已创建的目录不再重复创建；目录创建完成前，同一目录下的其他文件等待
+     *
+     * @param parallelism     同时下载的文件数
+     * @param rangedThreshold 不小于该大小的文件分块并行下载
+     */
+    public AliyunOSSBatchResult getObjectRecursively(File directory, int parallelism, long rangedThreshold) {
+        Map<File, Boolean> directories = new ConcurrentHashMap<>();
+        Executor executor = getExecutor();
+        return AliyunOSSTasks.forEach(executor, parallelism, listObjectSummariesRecursively(), OSSObjectSummary::getKey, (objectSummary, result) -> {
+            File file = new File(directory, objectSummary.getKey().substring(key.length()));
+            if (objectSummary.getKey().endsWith("/")) {
+                // 目录占位对象
+                directories.computeIfAbsent(file, AliyunOSSObject::mkdirs);
+                result.addSuccess(0);
+                return;
+            }
+            File parent = file.getParentFile();
+            if (parent != null) {
+                directories.computeIfAbsent(parent, AliyunOSSObject::mkdirs);
+            }
+            if (objectSummary.getSize() >= rangedThreshold) {
+                ObjectMetadata objectMetadata = new ObjectMetadata();
+                objectMetadata.setContentLength(objectSummary.getSize());
+                objectMetadata.setHeader(OSSHeaders.ETAG, objectSummary.getETag());
+                new AliyunOSSFileDownloader(oss, objectSummary.getBucketName(), objectSummary.getKey(), file, executor)
+                        .call(objectMetadata);
+            } else {
                 oss.getObject(new GetObjectRequest(objectSummary.getBucketName(), objectSummary.getKey()), file);
-                count++;
             }
-        }
-        return count;
+            result.addSuccess(objectSummary.getSize());
+        });
+    }
+
+    private static Boolean mkdirs(File directory) {
+        directory.mkdirs();
+        return Boolean.TRUE;
     }
 
     /**
      * 读取文件内容
      */
     public InputStream getObjectContent() {
+        AliyunOSSContentCache contentCache = getContentCache();
+        if (contentCache != null) {
+            return contentCache.getInputStream(this);
+        }
         return getObject().getObjectContent();
     }
 
+    /**
+     * 读取文件内容，并行预读
+     *
+     * @param partSize 每个范围请求的大小
+     * @param prefetch 同时进行的范围请求数
+     */
+    public InputStream getObjectContent(int partSize, int prefetch) {
+        return getObjectContent(new AliyunOSSBufferPool(partSize, prefetch + 1), prefetch);
+    }
+
+    /**
+     * 读取文件内容，并行预读，缓冲区取自共享的缓冲区池
+     */
+    public InputStream getObjectContent(AliyunOSSBufferPool bufferPool, int prefetch) {
+        SimplifiedObjectMeta objectMeta = getSimplifiedObjectMeta();
+        return getObjectContent(bufferPool, prefetch, objectMeta.getETag(), objectMeta.getSize());
+    }
+
+    /**
+     * 按已知的ETag及大小读取文件内容，并行预读
+     */
+    public InputStream getObjectContent(AliyunOSSBufferPool bufferPool, int prefetch, String eTag, long length) {
+        return new AliyunOSSPrefetchInputStream(oss, bucketName, key, eTag, length, getExecutor(), bufferPool, prefetch);
+    }
+
     /**
      * 读取文件属性
      */
@@ -315,6 +556,41 @@ public class AliyunOSSObject {
         oss.copyObject(copyObjectRequest);
     }
 
+    /**
+     * 修改文件属性，一次读取属性、一次复制自身提交；复制固定到读取时的ETag，期间文件被覆盖时失败
+     */
+    public String setObjectMetadata(AliyunOSSMetadataEditor editor) {
+        return setObjectMetadata(editor, getObjectMetadata());
+    }
+
+    /**
+     * 按已知的当前属性修改文件属性，省去一次HEAD请求
+     */
+    public String setObjectMetadata(AliyunOSSMetadataEditor editor, ObjectMetadata current) {
+        return newObjectCopier(bucketName, key, key)
+                .setNewObjectMetadata(editor.apply(current))
+                .call(current);
+    }
+
+    /**
+     * 并发修改文件夹下所有文件属性；单个文件失败不中断，失败项记录在结果中
+     *
+     * @param parallelism      同时修改的文件数
+     * @param objectsPerSecond 每秒修改文件数上限，不大于0时不限速
+     */
+    public AliyunOSSBatchResult setObjectMetadataRecursively(AliyunOSSMetadataEditor editor,
+                                                            int parallelism, double objectsPerSecond) {
+        Iterator<OSSObjectSummary> iterator = AliyunOSSTasks.throttle(listObjectSummariesRecursively(), objectsPerSecond);
+        return AliyunOSSTasks.forEach(getExecutor(), parallelism, iterator, OSSObjectSummary::getKey, (objectSummary, result) -> {
+            String objectKey = objectSummary.getKey();
+            ObjectMetadata current = oss.getObjectMetadata(bucketName, objectKey);
+            newObjectCopier(bucketName, objectKey, objectKey)
+                    .setNewObjectMetadata(editor.apply(current))
+                    .call(current);
+            result.addSuccess(objectSummary.getSize());
+        });
+    }
+
     /**
      * 追加上传文件
      */
@@ -365,6 +641,29 @@ public class AliyunOSSObject {
         return new AliyunOSSOutputStream(oss, bucketName, key, position);
     }
 
+    /**
+     * 追加上传流，缓冲区满或超过刷新间隔（毫秒）时合并提交
+     */
+    public AliyunOSSOutputStream appendObject(long position, int bufferSize,
+                                              ScheduledExecutorService executor, long flushInterval) {
+        return new AliyunOSSOutputStream(oss, bucketName, key, position, bufferSize, executor, flushInterval);
+    }
+
+    /**
+     * 分块上传流
+     */
+    public AliyunOSSMultipartOutputStream uploadObject() {
+        return new AliyunOSSMultipartOutputStream(oss, bucketName, key, getExecutor());
+    }
+
+    /**
+     * 分块上传流
+     */
+    public AliyunOSSMultipartOutputStream uploadObject(ObjectMetadata objectMetadata, int partSize, int maxPartsInFlight) {
+        return new AliyunOSSMultipartOutputStream(oss, bucketName, key, objectMetadata,
+                partSize, maxPartsInFlight, getExecutor());
+    }
+
     /**
      * 删除文件
      */
@@ -376,20 +675,52 @@ public class AliyunOSSObject {
      * 删除文件夹
      */
     public int deleteObjectsRecursively() {
-        int count = 0;
-        Iterator<ObjectListing> iterator = listObjectsRecursively();
-        while (iterator.hasNext()) {
-            ObjectListing objectListing = iterator.next();
-            List<OSSObjectSummary> objectSummaries = objectListing.getObjectSummaries();
-            if (!objectSummaries.isEmpty()) {
-                List<String> keys = objectSummaries.stream()
-                        .map(OSSObjectSummary::getKey)
-                        .collect(Collectors.toList());
-                oss.deleteObjects(new DeleteObjectsRequest(bucketName).withKeys(keys).withQuiet(true));
-                count += keys.size();
+        return (int) deleteObjectsRecursively(AliyunOSSTasks.DEFAULT_PARALLELISM, 0)
+                .throwIfFailed()
+                .getCount();
+    }
+
+    /**
+     * 删除文件夹，列举与批量删除重叠执行
+     *
+     * @param parallelism      同时进行的批量删除请求数
+     * @param batchesPerSecond 每秒批量删除请求数上限，不大于0时不限速
+     */
+    public AliyunOSSBatchResult deleteObjectsRecursively(int parallelism, double batchesPerSecond) {
+        Iterator<String> keys = StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(listObjectSummariesRecursively(), Spliterator.ORDERED), false)
+                .map(OSSObjectSummary::getKey)
+                .iterator();
+        return deleteObjects(keys, parallelism, batchesPerSecond);
+    }
+
+    /**
+     * 批量删除文件，每1000个键一个请求，多个请求同时进行；未删除成功的键记录在结果中
+     *
+     * @param parallelism      同时进行的批量删除请求数
+     * @param batchesPerSecond 每秒批量删除请求数上限，不大于0时不限速
+     */
+    public AliyunOSSBatchResult deleteObjects(Iterator<String> keys, int parallelism, double batchesPerSecond) {
+        Iterator<List<String>> batches = AliyunOSSTasks.throttle(
+                AliyunOSSTasks.partition(keys, DELETE_OBJECTS_BATCH_SIZE), batchesPerSecond);
+        return AliyunOSSTasks.forEach(getExecutor(), parallelism, batches, batch -> batch.get(0), (batch, result) -> {
+            try {
+                DeleteObjectsResult deleteObjectsResult = oss.deleteObjects(
+                        new DeleteObjectsRequest(bucketName).withKeys(batch).withQuiet(false));
+                Set<String> deleted = new HashSet<>(deleteObjectsResult.getDeletedObjects());
+                for (String k : batch) {
+                    if (deleted.contains(k)) {
+                        result.addSuccess(0);
+                    } else {
+                        result.addFailure(k, new IOException("Delete failed: oss://" + bucketName + "/" + k));
+                    }
+                }
+            } catch (RuntimeException e) {
+                for (String k : batch) {
+                    result.addFailure(k, e);
+                }
             }
-        }
-        return count;
+        });
     }
 
     /**
@@ -407,11 +738,12 @@ public class AliyunOSSObject {
     }
 
     /**
-     * 分块上传文件
+     * 分块上传文件，断点续传：中断后再次调用从断点继续
      */
     public String uploadFile(String file) throws Throwable {
-        UploadFileRequest uploadFileRequest = new UploadFileRequest(bucketName, key);
-        uploadFileRequest.setUploadFile(file);
+        File uploadFile = new File(file);
+        UploadFileRequest uploadFileRequest = newUploadFileRequest(key, uploadFile, uploadFile.length());
+        uploadFileRequest.setEnableCheckpoint(true);
         return oss.uploadFile(uploadFileRequest).getMultipartUploadResult().getETag();
     }
 
@@ -419,28 +751,20 @@ public class AliyunOSSObject {
      * 分块上传文件夹
      */
     public int uploadFileRecursively(String directory) throws Throwable {
-        int count = 0;
-        File dir = new File(directory);
-        URI directoryUri = dir.toURI();
-        for (File file : new FileTree(dir, TreePreOrderIterator::new)) {
-            if (file.isFile()) {
-                String relativePath = PathParser.relativize(directoryUri, file.toURI());
-                String targetKey = key + relativePath;
-                UploadFileRequest uploadFileRequest = new UploadFileRequest(bucketName, targetKey);
-                uploadFileRequest.setUploadFile(file.getAbsolutePath());
-                oss.uploadFile(uploadFileRequest);
-                count++;
-            }
-        }
-        return count;
+        return (int) putObjectRecursively(new File(directory), AliyunOSSTasks.DEFAULT_PARALLELISM, MULTIPART_UPLOAD_THRESHOLD)
+                .throwIfFailed()
+                .getCount();
     }
 
     /**
-     * 分块下载文件
+     * 分块下载文件，断点续传：记录已完成的分块，中断后再次调用从断点继续
      */
     public ObjectMetadata downloadFile(String file) throws Throwable {
         DownloadFileRequest downloadFileRequest = new DownloadFileRequest(bucketName, key);
         downloadFileRequest.setDownloadFile(file);
+        downloadFileRequest.setPartSize(AliyunOSSFileDownloader.DEFAULT_PART_SIZE);
+        downloadFileRequest.setTaskNum(AliyunOSSFileDownloader.DEFAULT_PARALLELISM);
+        downloadFileRequest.setEnableCheckpoint(true);
         return oss.downloadFile(downloadFileRequest).getObjectMetadata();
     }
 
@@ -448,25 +772,7 @@ public class AliyunOSSObject {
      * 分块下载文件夹
      */
     public int downloadFileRecursively(String directory) throws Throwable {
-        int count = 0;
-        File dir = new File(directory);
-        AliyunOSSObjectListingIterator iterator = listObjectsRecursively();
-        while (iterator.hasNext()) {
-            ObjectListing objectListing = iterator.next();
-            for (OSSObjectSummary objectSummary : objectListing.getObjectSummaries()) {
-                File file = new File(dir, objectSummary.getKey().substring(key.length()));
-                File parent = file.getParentFile();
-                if (parent != null) {
-                    parent.mkdirs();
-                }
-                DownloadFileRequest downloadFileRequest = new DownloadFileRequest(
-                        objectSummary.getBucketName(), objectSummary.getKey());
-                downloadFileRequest.setDownloadFile(file.getAbsolutePath());
-                oss.downloadFile(downloadFileRequest);
-                count++;
-            }
-        }
-        return count;
+        return getObjectRecursively(new File(directory));
     }
 
     /**
@@ -481,21 +787,156 @@ public class AliyunOSSObject {
     }
 
     /**
-     * 读文件内容
+     * 读文件内容；启用内容缓存时返回缓存文件的只读内存映射
      */
     public ByteBuffer read() {
-        OSSObject object = getObject();
-        try (Java9InputStream stream = new Java9InputStream(object.getObjectContent())) {
-            int length = (int) object.getObjectMetadata().getContentLength();
-            if (length <= 0) {
-                length = 8 * 1024;
+        AliyunOSSContentCache contentCache = getContentCache();
+        if (contentCache != null) {
+            return contentCache.read(this);
+        }
+        try (OSSObject object = getObject()) {
+            long length = object.getObjectMetadata().getContentLength();
+            if (length < 0) {
+                try (Java9InputStream stream = new Java9InputStream(object.getObjectContent())) {
+                    return stream.readAllBytes(8 * 1024);
+                }
             }
-            return stream.readAllBytes(length);
+            if (length > MAX_BUFFER_SIZE) {
+                throw new IllegalStateException("Too large for a single buffer, use read(int, IntFunction): " + this + " " + length);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) length);
+            readFully(object.getObjectContent(), buffer);
+            buffer.flip();
+            return buffer;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 读文件内容到指定缓冲区（可为直接缓冲区），最多读取buffer.remaining()字节，返回读取的字节数
+     */
+    public int read(ByteBuffer buffer) {
+        if (!buffer.hasRemaining()) {
+            return 0;
+        }
+        GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, key);
+        getObjectRequest.setRange(0, buffer.remaining() - 1);
+        try (OSSObject object = oss.getObject(getObjectRequest)) {
+            return readFully(object.getObjectContent(), buffer);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * 读文件内容到多个缓冲区，适用于超过2GB或不宜分配连续内存的文件
+     *
+     * @param chunkSize 单个缓冲区大小
+     * @param allocator 缓冲区分配器，参数为所需大小，可返回直接缓冲区或池化缓冲区；返回的缓冲区小于所需大小时只填满其剩余空间
+     * @return 已flip的缓冲区，按文件顺序
+     */
+    public List<ByteBuffer> read(int chunkSize, IntFunction<ByteBuffer> allocator) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize: " + chunkSize);
+        }
+        try (OSSObject object = getObject()) {
+            long remaining = object.getObjectMetadata().getContentLength();
+            InputStream stream = object.getObjectContent();
+            List<ByteBuffer> buffers = new ArrayList<>();
+            while (true) {
+                int size = remaining < 0 ? chunkSize : (int) Math.min(chunkSize, remaining);
+                if (size == 0) {
+                    return buffers;
+                }
+                ByteBuffer buffer = allocator.apply(size);
+                if (!buffer.hasRemaining()) {
+                    throw new IllegalArgumentException("Allocator returned a buffer with no remaining space: " + buffer);
+                }
+                size = Math.min(size, buffer.remaining());
+                buffer.limit(buffer.position() + size);
+                int n = readFully(stream, buffer);
+                buffer.flip();
+                if (n > 0) {
+                    buffers.add(buffer);
+                }
+                if (n < size) {
+                    return buffers;
+                }
+                if (remaining > 0) {
+                    remaining -= n;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 分块并行读取文件内容到指定缓冲区，每块直接写入缓冲区对应位置；所有范围请求以If-Match固定到同一ETag
+     *
+     * @return 读取的字节数
+     */
+    public int read(ByteBuffer buffer, int partSize, int parallelism) {
+        if (partSize <= 0) {
+            throw new IllegalArgumentException("partSize: " + partSize);
+        }
+        ObjectMetadata objectMetadata = getObjectMetadata();
+        long length = objectMetadata.getContentLength();
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("Buffer too small: " + this + " " + length + " > " + buffer.remaining());
+        }
+        List<String> eTag = Collections.singletonList(objectMetadata.getETag());
+        List<Callable<Integer>> parts = new ArrayList<>();
+        for (long begin = 0; begin < length; begin += partSize) {
+            ByteBuffer slice = buffer.duplicate();
+            slice.position(buffer.position() + (int) begin);
+            slice.limit(buffer.position() + (int) Math.min(begin + partSize, length));
+            GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, key);
+            getObjectRequest.setRange(begin, begin + slice.remaining() - 1);
+            getObjectRequest.setMatchingETagConstraints(eTag);
+            parts.add(() -> {
+                try (OSSObject object = oss.getObject(getObjectRequest)) {
+                    int expected = slice.remaining();
+                    if (readFully(object.getObjectContent(), slice) < expected) {
+                        throw new EOFException(toString());
+                    }
+                    return expected;
+                }
+            });
+        }
+        AliyunOSSTasks.invokeAll(getExecutor(), parallelism, parts);
+        buffer.position(buffer.position() + (int) length);
+        return (int) length;
+    }
+
+    /**
+     * 从流中读取直到缓冲区写满或流结束；堆缓冲区直接读入底层数组
+     */
+    private static int readFully(InputStream stream, ByteBuffer buffer) throws IOException {
+        int count = 0;
+        if (buffer.hasArray()) {
+            while (buffer.hasRemaining()) {
+                int n = stream.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                if (n < 0) {
+                    break;
+                }
+                buffer.position(buffer.position() + n);
+                count += n;
+            }
+        } else {
+            ReadableByteChannel channel = Channels.newChannel(stream);
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer);
+                if (n < 0) {
+                    break;
+                }
+                count += n;
+            }
+        }
+        return count;
+    }
+
     /**
      * 读UTF8字符串
      */
@@ -514,9 +955,17 @@ public class AliyunOSSObject {
      * 写文件内容
      */
     public <T> void write(BiConsumer<T, OutputStream> serializer, T value) {
-        try (ByteArrayOutputStream buffer = new ByteArrayOutputStream()) {
-            serializer.accept(value, buffer);
-            write(buffer.toByteArray());
+        // 边序列化边分块上传，序列化失败时放弃上传，不会写入不完整的内容
+        AliyunOSSMultipartOutputStream stream = uploadObject();
+        try {
+            serializer.accept(value, stream);
+        } catch (Throwable e) {
+            // 包括OutOfMemoryError等Error，否则分块上传不会被取消
+            stream.abort();
+            throw e;
+        }
+        try {
+            stream.close();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -526,14 +975,26 @@ public class AliyunOSSObject {
      * 写文件内容
      */
     public void write(byte[] value) {
-        putObject(new ByteArrayInputStream(value));
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentLength(value.length);
+        putObject(new ByteArrayInputStream(value), objectMetadata);
     }
 
     /**
-     * 写文件内容
+     * 写文件内容，不复制缓冲区
+     * <p>
+     * 堆缓冲区直接包装其数组；直接缓冲区没有可包装的数组，而SDK只接受InputStream，
+     * 由ByteBufferInputStream在上传时按HTTP层每次读取的大小从缓冲区取出，不整体复制到堆上。
      */
     public void write(ByteBuffer value) {
-        putObject(new ByteBufferInputStream(value));
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        objectMetadata.setContentLength(value.remaining());
+        if (value.hasArray()) {
+            putObject(new ByteArrayInputStream(
+                    value.array(), value.arrayOffset() + value.position(), value.remaining()), objectMetadata);
+        } else {
+            putObject(new ByteBufferInputStream(value.duplicate()), objectMetadata);
+        }
     }
 
     /**
@@ -565,4 +1026,12 @@ public class AliyunOSSObject {
     public String toString() {
         return "oss://" + bucketName + "/" + key;
     }
+
+    /**
+     * 跨地区传输默认共享的缓冲区池，首次使用时创建，所有传输的缓冲区总数有界
+     */
+    private static class TransferBufferPool {
+        static final AliyunOSSBufferPool INSTANCE = new AliyunOSSBufferPool(
+                AliyunOSSMultipartOutputStream.DEFAULT_PART_SIZE, AliyunOSSTasks.DEFAULT_PARALLELISM * 2);
+    }
 }
@@ -0,0 +1,181 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.InconsistentException;
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.internal.OSSHeaders;
+import com.aliyun.oss.model.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * 服务端复制文件
+ * <p>
+ * 小于阈值的对象使用一次copyObject；大对象使用分块复制，并行发起uploadPartCopy。
+ * 所有请求以If-Match固定到源对象的同一ETag，复制过程中源对象被修改时失败而不会产生混合内容；
+ * 源对象属性带有CRC64且服务端返回目标CRC64时，复制后比较两者，不一致时抛出InconsistentException
+ */
+public class AliyunOSSObjectCopier implements Callable<String> {
+    /**
+     * 单次copyObject大小上限
+     */
+    public static final long DEFAULT_MULTIPART_THRESHOLD = 1024L * 1024L * 1024L;
+    public static final long DEFAULT_PART_SIZE = 64L * 1024L * 1024L;
+    public static final int DEFAULT_PARALLELISM = 8;
+    /**
+     * OSS分块数上限
+     */
+    private static final int MAX_PARTS = 10000;
+
+    private final OSS oss;
+    private final String sourceBucketName;
+    private final String sourceKey;
+    private final String bucketName;
+    private final String key;
+    private final Executor executor;
+    private long multipartThreshold = DEFAULT_MULTIPART_THRESHOLD;
+    private long partSize = DEFAULT_PART_SIZE;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private ObjectMetadata newObjectMetadata;
+
+    public AliyunOSSObjectCopier(OSS oss, String sourceBucketName, String sourceKey,
+                                 String bucketName, String key, Executor executor) {
+        this.oss = oss;
+        this.sourceBucketName = sourceBucketName;
+        this.sourceKey = sourceKey;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.executor = executor;
+    }
+
+    public AliyunOSSObjectCopier setMultipartThreshold(long multipartThreshold) {
+        this.multipartThreshold = multipartThreshold;
+        return this;
+    }
+
+    public AliyunOSSObjectCopier setPartSize(long partSize) {
+        if (partSize < AliyunOSSMultipartOutputStream.MIN_PART_SIZE) {
+            throw new IllegalArgumentException("partSize: " + partSize);
+        }
+        this.partSize = partSize;
+        return this;
+    }
+
+    public AliyunOSSObjectCopier setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 目标对象使用新属性（替换源对象属性），为null时沿用源对象属性
+     */
+    public AliyunOSSObjectCopier setNewObjectMetadata(ObjectMetadata newObjectMetadata) {
+        this.newObjectMetadata = newObjectMetadata;
+        return this;
+    }
+
+    /**
+     * 复制，返回目标对象ETag
+     */
+    @Override
+    public String call() {
+        return call(oss.getObjectMetadata(sourceBucketName, sourceKey));
+    }
+
+    /**
+     * 按已知的源对象属性复制，省去一次HEAD请求
+     */
+    public String call(ObjectMetadata sourceMetadata) {
+        List<String> eTag = Collections.singletonList(sourceMetadata.getETag());
+        long length = sourceMetadata.getContentLength();
+        // 空对象没有分块，只能单次复制
+        if (length < multipartThreshold || length == 0) {
+            CopyObjectRequest copyObjectRequest = new CopyObjectRequest(sourceBucketName, sourceKey, bucketName, key);
+            copyObjectRequest.setMatchingETagConstraints(eTag);
+            if (newObjectMetadata != null) {
+                copyObjectRequest.setNewObjectMetadata(newObjectMetadata);
+            }
+            CopyObjectResult copyObjectResult = oss.copyObject(copyObjectRequest);
+            checkCRC(sourceMetadata, copyObjectResult);
+            return copyObjectResult.getETag();
+        }
+
+        long size = Math.max(partSize, (length + MAX_PARTS - 1) / MAX_PARTS);
+        String uploadId = oss.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucketName, key,
+                        newObjectMetadata == null ? copyOf(sourceMetadata) : newObjectMetadata)).getUploadId();
+        try {
+            List<Callable<PartETag>> parts = new ArrayList<>();
+            int partNumber = 0;
+            for (long begin = 0; begin < length; begin += size) {
+                UploadPartCopyRequest uploadPartCopyRequest = new UploadPartCopyRequest(
+                        sourceBucketName, sourceKey, bucketName, key, uploadId,
+                        ++partNumber, begin, Math.min(size, length - begin));
+                uploadPartCopyRequest.setMatchingETagConstraints(eTag);
+                parts.add(() -> oss.uploadPartCopy(uploadPartCopyRequest).getPartETag());
+            }
+            List<PartETag> partETags = AliyunOSSTasks.invokeAll(executor, parallelism, parts);
+            CompleteMultipartUploadResult completeMultipartUploadResult = oss.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+            uploadId = null;
+            checkCRC(sourceMetadata, completeMultipartUploadResult);
+            return completeMultipartUploadResult.getETag();
+        } catch (RuntimeException e) {
+            if (uploadId == null) {
+                throw e;
+            }
+            try {
+                oss.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            } catch (RuntimeException ignore) {
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 比较源对象与目标对象的CRC64，任一方未知时跳过
+     */
+    private void checkCRC(ObjectMetadata sourceMetadata, GenericResult result) {
+        Object sourceCRC = sourceMetadata.getRawMetadata().get(OSSHeaders.OSS_HASH_CRC64_ECMA);
+        Long targetCRC = result.getServerCRC();
+        if (sourceCRC == null || targetCRC == null) {
+            return;
+        }
+        Long expected = Long.parseUnsignedLong(sourceCRC.toString());
+        if (!expected.equals(targetCRC)) {
+            throw new InconsistentException(expected, targetCRC, result.getRequestId());
+        }
+    }
+
+    /**
+     * 分块复制不会带上源对象属性，复制可设置的HTTP头及用户属性
+     */
+    static ObjectMetadata copyOf(ObjectMetadata sourceMetadata) {
+        ObjectMetadata objectMetadata = new ObjectMetadata();
+        if (sourceMetadata.getContentType() != null) {
+            objectMetadata.setContentType(sourceMetadata.getContentType());
+        }
+        if (sourceMetadata.getContentEncoding() != null) {
+            objectMetadata.setContentEncoding(sourceMetadata.getContentEncoding());
+        }
+        if (sourceMetadata.getCacheControl() != null) {
+            objectMetadata.setCacheControl(sourceMetadata.getCacheControl());
+        }
+        if (sourceMetadata.getContentDisposition() != null) {
+            objectMetadata.setContentDisposition(sourceMetadata.getContentDisposition());
+        }
+        objectMetadata.setUserMetadata(sourceMetadata.getUserMetadata());
+        return objectMetadata;
+    }
+
+    @Override
+    public String toString() {
+        return "oss://" + sourceBucketName + "/" + sourceKey + " -> oss://" + bucketName + "/" + key;
+    }
+}
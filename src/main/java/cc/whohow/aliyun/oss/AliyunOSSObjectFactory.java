@@ -2,13 +2,23 @@ package cc.whohow.aliyun.oss;
 
 import com.aliyun.oss.OSS;
 
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 public class AliyunOSSObjectFactory implements Function<AliyunOSSUri, AliyunOSSObject> {
     private final Function<AliyunOSSUri, OSS> ossFactory;
+    private final Executor executor;
 
     public AliyunOSSObjectFactory(Function<AliyunOSSUri, OSS> ossFactory) {
+        this(ossFactory, AliyunOSSObject.DIRECT_EXECUTOR);
+    }
+
+    /**
+     * @param executor 所创建对象的并行任务执行器
+     */
+    public AliyunOSSObjectFactory(Function<AliyunOSSUri, OSS> ossFactory, Executor executor) {
         this.ossFactory = ossFactory;
+        this.executor = executor;
     }
 
     public AliyunOSSObject apply(String uri) {
@@ -17,6 +27,6 @@ public class AliyunOSSObjectFactory implements Function<AliyunOSSUri, AliyunOSSO
 
     @Override
     public AliyunOSSObject apply(AliyunOSSUri uri) {
-        return new AliyunOSSObject(ossFactory.apply(uri), uri.getBucketName(), uri.getKey());
+        return new AliyunOSSObject(ossFactory.apply(uri), uri.getBucketName(), uri.getKey(), executor);
     }
 }
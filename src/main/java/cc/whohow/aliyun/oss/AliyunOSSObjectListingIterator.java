@@ -10,8 +10,8 @@ import java.util.Iterator;
  * OSS原始对象遍历器
  */
 public class AliyunOSSObjectListingIterator implements Iterator<ObjectListing> {
-    private final OSS oss;
-    private final ListObjectsRequest listObjectsRequest;
+    protected final OSS oss;
+    protected final ListObjectsRequest listObjectsRequest;
     private ObjectListing objectListing;
 
     public AliyunOSSObjectListingIterator(OSS oss, String bucketName, String prefix) {
@@ -39,6 +39,10 @@ public class AliyunOSSObjectListingIterator implements Iterator<ObjectListing> {
         return listObjectsRequest.getPrefix();
     }
 
+    public String getDelimiter() {
+        return listObjectsRequest.getDelimiter();
+    }
+
     @Override
     public boolean hasNext() {
         if (objectListing == null) {
@@ -0,0 +1,159 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.ListObjectsRequest;
+import com.aliyun.oss.model.ObjectListing;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * OSS原始对象遍历器，预取后续分页
+ * <p>
+ * 每取回一页立即异步请求下一页，最多预取prefetch页，调用方消费当前页时不再等待网络往返
+ */
+public class AliyunOSSObjectListingPrefetchIterator extends AliyunOSSObjectListingIterator {
+    public static final int DEFAULT_PREFETCH = 2;
+
+    private final Executor executor;
+    private final int prefetch;
+    /**
+     * 已请求未消费的分页，包括正在请求的分页
+     */
+    private final Deque<CompletableFuture<ObjectListing>> pages = new ArrayDeque<>();
+    private boolean started;
+    private boolean fetching;
+    private boolean exhausted;
+    private String nextMarker;
+    private ObjectListing objectListing;
+    private volatile Runnable listener;
+
+    public AliyunOSSObjectListingPrefetchIterator(OSS oss, String bucketName, String prefix, String delimiter,
+                                                  Executor executor) {
+        this(oss, new ListObjectsRequest(bucketName, prefix, null, delimiter, 1000), executor, DEFAULT_PREFETCH);
+    }
+
+    public AliyunOSSObjectListingPrefetchIterator(OSS oss, ListObjectsRequest listObjectsRequest,
+                                                  Executor executor, int prefetch) {
+        super(oss, listObjectsRequest);
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch: " + prefetch);
+        }
+        this.executor = executor;
+        this.prefetch = prefetch;
+        this.nextMarker = listObjectsRequest.getMarker();
+    }
+
+    /**
+     * 分页到达时回调
+     */
+    public void setListener(Runnable listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * 开始预取，不等待结果
+     */
+    public synchronized void start() {
+        if (!started) {
+            started = true;
+            fetch();
+        }
+    }
+
+    /**
+     * 调用hasNext是否不会阻塞
+     */
+    public synchronized boolean isReady() {
+        if (!started) {
+            return false;
+        }
+        if (pages.isEmpty()) {
+            return exhausted;
+        }
+        return pages.peekFirst().isDone();
+    }
+
+    @Override
+    public boolean hasNext() {
+        CompletableFuture<ObjectListing> page;
+        synchronized (this) {
+            start();
+            if (pages.isEmpty()) {
+                if (exhausted) {
+                    return false;
+                }
+                fetch();
+            }
+            page = pages.removeFirst();
+            if (!fetching && !exhausted && pages.size() < prefetch) {
+                fetch();
+            }
+        }
+        try {
+            objectListing = page.join();
+            return true;
+        } catch (CompletionException e) {
+            throw AliyunOSSTasks.propagate(e.getCause());
+        }
+    }
+
+    @Override
+    public ObjectListing next() {
+        return objectListing;
+    }
+
+    /**
+     * 请求下一页，同一时刻只有一个请求
+     */
+    private synchronized void fetch() {
+        ListObjectsRequest request = new ListObjectsRequest(
+                listObjectsRequest.getBucketName(),
+                listObjectsRequest.getPrefix(),
+                nextMarker,
+                listObjectsRequest.getDelimiter(),
+                listObjectsRequest.getMaxKeys());
+        request.setEncodingType(listObjectsRequest.getEncodingType());
+        CompletableFuture<ObjectListing> page = new CompletableFuture<>();
+        pages.addLast(page);
+        fetching = true;
+        Runnable task = () -> {
+            try {
+                ObjectListing result = oss.listObjects(request);
+                onFetched(result);
+                page.complete(result);
+            } catch (Throwable e) {
+                onFailed();
+                page.completeExceptionally(e);
+            }
+            Runnable l = listener;
+            if (l != null) {
+                l.run();
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    private synchronized void onFetched(ObjectListing result) {
+        fetching = false;
+        nextMarker = result.getNextMarker();
+        if (nextMarker == null) {
+            exhausted = true;
+        } else if (pages.size() < prefetch) {
+            fetch();
+        }
+    }
+
+    private synchronized void onFailed() {
+        fetching = false;
+        exhausted = true;
+    }
+}
@@ -0,0 +1,521 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.ListObjectsRequest;
+import com.aliyun.oss.model.OSSObjectSummary;
+import com.aliyun.oss.model.ObjectListing;
+
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * ObjectSummary 并行遍历器
+ * <p>
+ * 将前缀拆分为互不相交的键区间，以有界并发度同时列举各区间，合并输出。有序模式按键顺序输出，无序模式按到达顺序输出。
+ * <p>
+ * 拆分分两步：先通过分隔符列举发现目录结构，每个前缀只读取一页，子目录作为区间，直接文件按页输出，
+ * 剩余部分在轮到时再读取下一页；子目录较少的扁平前缀以采样的分割键二分为多个区间（marker探测分割键之后是否还有文件）。
+ * 任一时刻内存中只保留已读取的页，不随键总数增长。
+ */
+public class AliyunOSSObjectSummaryParallelIterator implements Iterator<OSSObjectSummary> {
+    /**
+     * 区间数少于并发度的该倍数时继续拆分
+     */
+    private static final int PARTITIONS_PER_WORKER = 4;
+    private static final int MAX_DISCOVERY_DEPTH = 3;
+    private static final int MAX_SPLIT_ROUNDS = 8;
+    private static final int MAX_SPLIT_PROBES = 16;
+    private static final int MAX_SPLIT_KEY_LENGTH = 64;
+
+    private final OSS oss;
+    private final String bucketName;
+    private final String prefix;
+    private final Executor executor;
+    private final int parallelism;
+    private final boolean ordered;
+    private final Object signal = new Object();
+    private long version;
+    /**
+     * 待列举分区，按键顺序：List&lt;OSSObjectSummary&gt; 为已读取的直接文件，Range 为待列举的键区间
+     */
+    private Deque<Object> partitions;
+    /**
+     * 正在列举的分区，有序模式下也包含排在其间的直接文件分区
+     */
+    private final Deque<Object> window = new ArrayDeque<>();
+    private final List<RangeListing> running = new ArrayList<>();
+    private Iterator<OSSObjectSummary> objectSummaryIterator = Collections.emptyIterator();
+
+    public AliyunOSSObjectSummaryParallelIterator(OSS oss, String bucketName, String prefix,
+                                                  Executor executor, int parallelism, boolean ordered) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism: " + parallelism);
+        }
+        this.oss = oss;
+        this.bucketName = bucketName;
+        this.prefix = prefix;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.ordered = ordered;
+    }
+
+    public OSS getOSS() {
+        return oss;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (partitions == null) {
+            partitions = discover();
+        }
+        while (!objectSummaryIterator.hasNext()) {
+            List<OSSObjectSummary> page = ordered ? nextOrderedPage() : nextUnorderedPage();
+            if (page == null) {
+                return false;
+            }
+            objectSummaryIterator = page.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public OSSObjectSummary next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return objectSummaryIterator.next();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OSSObjectSummary> nextOrderedPage() {
+        while (true) {
+            fillWindow();
+            Object head = window.peekFirst();
+            if (head == null) {
+                return null;
+            }
+            if (head instanceof List) {
+                window.removeFirst();
+                return (List<OSSObjectSummary>) head;
+            }
+            RangeListing listing = (RangeListing) head;
+            List<OSSObjectSummary> page = listing.nextPage();
+            if (page != null) {
+                return page;
+            }
+            window.removeFirst();
+            running.remove(listing);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OSSObjectSummary> nextUnorderedPage() {
+        while (true) {
+            fillWindow();
+            for (Iterator<Object> it = window.iterator(); it.hasNext(); ) {
+                Object partition = it.next();
+                if (partition instanceof List) {
+                    it.remove();
+                    return (List<OSSObjectSummary>) partition;
+                }
+            }
+            if (running.isEmpty()) {
+                return null;
+            }
+            long v;
+            synchronized (signal) {
+                v = version;
+            }
+            for (Iterator<RangeListing> it = running.iterator(); it.hasNext(); ) {
+                RangeListing listing = it.next();
+                if (listing.isReady()) {
+                    List<OSSObjectSummary> page = listing.nextPage();
+                    if (page != null) {
+                        return page;
+                    }
+                    it.remove();
+                    window.remove(listing);
+                    v = -1;
+                }
+            }
+            if (v >= 0) {
+                awaitPage(v);
+            }
+        }
+    }
+
+    /**
+     * 启动区间列举，同时运行的列举不超过并发度；轮到的分隔符剩余部分先读取下一页再展开
+     */
+    private void fillWindow() {
+        while (running.size() < parallelism && !partitions.isEmpty()) {
+            Object partition = partitions.removeFirst();
+            if (partition instanceof Range) {
+                Range range = (Range) partition;
+                if (range.delimited) {
+                    List<Object> expanded = split(expand(range), parallelism);
+                    for (ListIterator<Object> it = expanded.listIterator(expanded.size()); it.hasPrevious(); ) {
+                        partitions.addFirst(it.previous());
+                    }
+                    continue;
+                }
+                RangeListing listing = new RangeListing(range);
+                running.add(listing);
+                window.addLast(listing);
+                listing.start();
+            } else {
+                window.addLast(partition);
+            }
+        }
+    }
+
+    private void signal() {
+        synchronized (signal) {
+            version++;
+            signal.notifyAll();
+        }
+    }
+
+    private void awaitPage(long v) {
+        synchronized (signal) {
+            while (version == v) {
+                try {
+                    signal.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new InterruptedIOException());
+                }
+            }
+        }
+    }
+
+    /**
+     * 发现键空间结构，子目录数不足时逐层展开，仍不足时二分扁平区间
+     */
+    private Deque<Object> discover() {
+        int target = parallelism * PARTITIONS_PER_WORKER;
+        List<Object> result = expand(new Range(prefix, null, null, null, true));
+        for (int depth = 1; depth < MAX_DISCOVERY_DEPTH && countRanges(result) < target; depth++) {
+            List<Callable<List<Object>>> tasks = new ArrayList<>(result.size());
+            boolean expandable = false;
+            for (Object partition : result) {
+                if (partition instanceof Range && ((Range) partition).isDirectory()) {
+                    Range directory = (Range) partition;
+                    tasks.add(() -> expand(directory.delimit()));
+                    expandable = true;
+                } else {
+                    tasks.add(() -> Collections.singletonList(partition));
+                }
+            }
+            if (!expandable) {
+                break;
+            }
+            result = flatten(AliyunOSSTasks.invokeAll(executor, parallelism, tasks));
+        }
+        return new ArrayDeque<>(split(result, target));
+    }
+
+    /**
+     * 分隔符列举一页，按键顺序返回直接文件分区与子目录区间；未列完时剩余部分作为区间：
+     * 子目录较多时保持分隔符列举（轮到时再展开），否则作为扁平区间
+     */
+    private List<Object> expand(Range range) {
+        ObjectListing objectListing = oss.listObjects(
+                new ListObjectsRequest(bucketName, range.prefix, range.marker, "/", 1000));
+        List<Object> result = new ArrayList<>();
+        List<OSSObjectSummary> objectSummaries = new ArrayList<>();
+        Iterator<OSSObjectSummary> objects = objectListing.getObjectSummaries().iterator();
+        Iterator<String> commonPrefixes = objectListing.getCommonPrefixes().iterator();
+        OSSObjectSummary object = objects.hasNext() ? objects.next() : null;
+        String commonPrefix = commonPrefixes.hasNext() ? commonPrefixes.next() : null;
+        String lastCommonPrefix = null;
+        while (object != null || commonPrefix != null) {
+            if (commonPrefix == null || (object != null && compare(object.getKey(), commonPrefix) < 0)) {
+                objectSummaries.add(object);
+                object = objects.hasNext() ? objects.next() : null;
+            } else {
+                if (!objectSummaries.isEmpty()) {
+                    result.add(objectSummaries);
+                    objectSummaries = new ArrayList<>();
+                }
+                result.add(new Range(commonPrefix, null, null, null, false));
+                lastCommonPrefix = commonPrefix;
+                commonPrefix = commonPrefixes.hasNext() ? commonPrefixes.next() : null;
+            }
+        }
+        if (!objectSummaries.isEmpty()) {
+            result.add(objectSummaries);
+        }
+        if (objectListing.isTruncated()) {
+            String nextMarker = objectListing.getNextMarker();
+            // 以子目录结尾时marker之后仍是该子目录中的键，只能继续分隔符列举
+            boolean delimited = objectListing.getCommonPrefixes().size() >= parallelism ||
+                    nextMarker.equals(lastCommonPrefix);
+            result.add(new Range(range.prefix, nextMarker, null, null, delimited));
+        }
+        return result;
+    }
+
+    /**
+     * 逐轮二分扁平区间，直到区间数达到目标或无法再拆分
+     */
+    private List<Object> split(List<Object> partitions, int target) {
+        for (int round = 0; round < MAX_SPLIT_ROUNDS && countRanges(partitions) < target; round++) {
+            List<Callable<List<Object>>> tasks = new ArrayList<>(partitions.size());
+            for (Object partition : partitions) {
+                if (partition instanceof Range && !((Range) partition).delimited) {
+                    tasks.add(() -> new ArrayList<>(split((Range) partition)));
+                } else {
+                    tasks.add(() -> Collections.singletonList(partition));
+                }
+            }
+            List<Object> result = flatten(AliyunOSSTasks.invokeAll(executor, parallelism, tasks));
+            if (result.size() == partitions.size()) {
+                return result;
+            }
+            partitions = result;
+        }
+        return partitions;
+    }
+
+    /**
+     * 以采样的分割键二分区间：在首个键与上界之间取中间键，以其为marker探测之后是否还有区间内的文件，
+     * 有则以中间键拆分，否则收缩上界继续二分。没有上界时先探测区间内所有键共享的前缀，从分叉处开始二分
+     *
+     * @return 非空的子区间，区间为空时返回空列表
+     */
+    private List<Range> split(Range range) {
+        String first = range.first;
+        if (first == null) {
+            first = probe(range.prefix, range.marker, range.last);
+            if (first == null) {
+                return Collections.emptyList();
+            }
+        }
+        String last = range.last;
+        String hi = last;
+        int probes = 0;
+        if (last == null) {
+            // 二分查找最短的L：存在键位于“与首个键前L个字符相同”的分组之后
+            int low = range.prefix.length() + 1;
+            int high = first.length() + 1;
+            while (low < high && probes < MAX_SPLIT_PROBES) {
+                int length = (low + high) >>> 1;
+                String bound = successor(first, length);
+                probes++;
+                if (bound != null && probe(range.prefix, bound, null) != null) {
+                    high = length;
+                } else {
+                    low = length + 1;
+                }
+            }
+            // 所有键共享首个键的前low-1个字符
+            hi = low - 1 > range.prefix.length() ? successor(first, low - 1) : null;
+        }
+        while (probes < MAX_SPLIT_PROBES) {
+            String splitKey = midpoint(range.prefix, first, hi);
+            if (splitKey == null) {
+                break;
+            }
+            probes++;
+            String next = probe(range.prefix, splitKey, last);
+            if (next != null) {
+                return Arrays.asList(
+                        new Range(range.prefix, range.marker, splitKey, first, false),
+                        new Range(range.prefix, splitKey, last, next, false));
+            }
+            // 分割键之后没有文件，收缩上界
+            last = splitKey;
+            hi = splitKey;
+        }
+        return Collections.singletonList(new Range(range.prefix, range.marker, last, first, false));
+    }
+
+    /**
+     * 大于所有以key前length个字符开头的键的最小字符串，无法表示时返回null
+     */
+    private static String successor(String key, int length) {
+        char c = key.charAt(length - 1);
+        if (c >= Character.MIN_SURROGATE - 1) {
+            return null;
+        }
+        return key.substring(0, length - 1) + (char) (c + 1);
+    }
+
+    /**
+     * marker之后、last之内的第一个键
+     */
+    private String probe(String prefix, String marker, String last) {
+        List<OSSObjectSummary> objectSummaries = oss.listObjects(
+                new ListObjectsRequest(bucketName, prefix, marker, null, 1)).getObjectSummaries();
+        if (objectSummaries.isEmpty()) {
+            return null;
+        }
+        String key = objectSummaries.get(0).getKey();
+        return last == null || compare(key, last) <= 0 ? key : null;
+    }
+
+    /**
+     * 前缀下大于lo、小于hi（为null时不限）的中间键，仅在ASCII及非代理字符范围内取值，使字符顺序与服务端UTF-8字节顺序一致
+     *
+     * @return 分割键，无法拆分时返回null
+     */
+    static String midpoint(String prefix, String lo, String hi) {
+        lo = lo == null ? "" : lo.substring(prefix.length());
+        hi = hi == null ? null : hi.substring(prefix.length());
+        StringBuilder buffer = new StringBuilder(prefix);
+        for (int i = 0; i < MAX_SPLIT_KEY_LENGTH; i++) {
+            int a = i < lo.length() ? lo.charAt(i) : -1;
+            int b = hi == null ? Character.MIN_SURROGATE : (i < hi.length() ? hi.charAt(i) : -1);
+            if (hi != null && a == b) {
+                if (a < 0) {
+                    return null;
+                }
+                buffer.append((char) a);
+                continue;
+            }
+            if (a > b || a >= Character.MIN_SURROGATE || b > Character.MIN_SURROGATE) {
+                return null;
+            }
+            int low = Math.max(a + 1, '!');
+            int high = Math.min(b - 1, '~');
+            if (low <= high) {
+                return buffer.append((char) ((low + high) / 2)).toString();
+            }
+            if (a + 1 <= b - 1) {
+                return buffer.append((char) ((a + b) / 2)).toString();
+            }
+            if (a < 0) {
+                return null;
+            }
+            // 该位置没有中间字符，取下界字符，后续只需大于下界
+            buffer.append((char) a);
+            hi = null;
+        }
+        return null;
+    }
+
+    /**
+     * 按码点比较，与服务端UTF-8字节顺序一致
+     */
+    static int compare(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int x = a.codePointAt(i);
+            int y = b.codePointAt(j);
+            if (x != y) {
+                return Integer.compare(x, y);
+            }
+            i += Character.charCount(x);
+            j += Character.charCount(y);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private static int countRanges(List<Object> partitions) {
+        int count = 0;
+        for (Object partition : partitions) {
+            if (partition instanceof Range) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static List<Object> flatten(List<List<Object>> lists) {
+        List<Object> result = new ArrayList<>();
+        lists.forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * 键区间：前缀下大于marker（为null时从头开始）且不大于last（为null时到前缀结尾）的键
+     */
+    private static class Range {
+        final String prefix;
+        final String marker;
+        final String last;
+        /**
+         * 已知的区间内首个键，未知为null
+         */
+        final String first;
+        /**
+         * 是否以分隔符列举，轮到时先展开
+         */
+        final boolean delimited;
+
+        Range(String prefix, String marker, String last, String first, boolean delimited) {
+            this.prefix = prefix;
+            this.marker = marker;
+            this.last = last;
+            this.first = first;
+            this.delimited = delimited;
+        }
+
+        boolean isDirectory() {
+            return marker == null && last == null && !delimited;
+        }
+
+        Range delimit() {
+            return new Range(prefix, marker, last, first, true);
+        }
+    }
+
+    /**
+     * 区间列举，预取后续分页，超出上界时截断
+     */
+    private class RangeListing {
+        final Range range;
+        final AliyunOSSObjectListingPrefetchIterator iterator;
+        boolean done;
+
+        RangeListing(Range range) {
+            this.range = range;
+            this.iterator = new AliyunOSSObjectListingPrefetchIterator(oss,
+                    new ListObjectsRequest(bucketName, range.prefix, range.marker, null, 1000),
+                    executor, AliyunOSSObjectListingPrefetchIterator.DEFAULT_PREFETCH);
+            this.iterator.setListener(AliyunOSSObjectSummaryParallelIterator.this::signal);
+        }
+
+        void start() {
+            iterator.start();
+        }
+
+        boolean isReady() {
+            return done || iterator.isReady();
+        }
+
+        /**
+         * 下一页，列举结束返回null
+         */
+        List<OSSObjectSummary> nextPage() {
+            if (done || !iterator.hasNext()) {
+                done = true;
+                return null;
+            }
+            List<OSSObjectSummary> objectSummaries = iterator.next().getObjectSummaries();
+            if (range.last == null || objectSummaries.isEmpty() ||
+                    compare(objectSummaries.get(objectSummaries.size() - 1).getKey(), range.last) <= 0) {
+                return objectSummaries;
+            }
+            done = true;
+            int n = 0;
+            while (n < objectSummaries.size() && compare(objectSummaries.get(n).getKey(), range.last) <= 0) {
+                n++;
+            }
+            return objectSummaries.subList(0, n);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * 跨地区、跨账号传输文件（不能服务端复制时）
+ * <p>
+ * 源对象按分块范围并发下载，每块读入缓冲区后作为目标对象的一个分块上传；
+ * 缓冲区取自共享缓冲区池，多个对象同时传输时内存占用仍然有界。所有范围请求以If-Match固定到同一ETag。
+ * 分块大小取缓冲区大小与对象大小/10000的较大者；分块超过缓冲区大小时不经缓冲区，直接以范围GET的响应流上传。
+ */
+public class AliyunOSSObjectTransfer implements Callable<String> {
+    public static final int DEFAULT_PARALLELISM = 8;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    private final OSS sourceOSS;
+    private final String sourceBucketName;
+    private final String sourceKey;
+    private final OSS oss;
+    private final String bucketName;
+    private final String key;
+    private final Executor executor;
+    private final AliyunOSSBufferPool bufferPool;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+
+    public AliyunOSSObjectTransfer(OSS sourceOSS, String sourceBucketName, String sourceKey,
+                                   OSS oss, String bucketName, String key,
+                                   Executor executor, AliyunOSSBufferPool bufferPool) {
+        if (bufferPool.getBufferSize() < AliyunOSSMultipartOutputStream.MIN_PART_SIZE) {
+            throw new IllegalArgumentException("bufferSize: " + bufferPool.getBufferSize());
+        }
+        this.sourceOSS = sourceOSS;
+        this.sourceBucketName = sourceBucketName;
+        this.sourceKey = sourceKey;
+        this.oss = oss;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.executor = executor;
+        this.bufferPool = bufferPool;
+    }
+
+    public AliyunOSSObjectTransfer setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public AliyunOSSObjectTransfer setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * 传输，返回目标对象ETag
+     */
+    @Override
+    public String call() {
+        return call(sourceOSS.getObjectMetadata(sourceBucketName, sourceKey));
+    }
+
+    /**
+     * 按已知的源对象属性传输；单块对象的属性取自GET响应，分块对象使用传入的属性
+     */
+    public String call(ObjectMetadata sourceMetadata) {
+        long length = sourceMetadata.getContentLength();
+        String eTag = sourceMetadata.getETag();
+        if (length <= bufferPool.getBufferSize()) {
+            return putObject(eTag, length);
+        }
+        long partSize = Math.max(bufferPool.getBufferSize(),
+                (length + AliyunOSSMultipartOutputStream.MAX_PARTS - 1) / AliyunOSSMultipartOutputStream.MAX_PARTS);
+
+        String uploadId = oss.initiateMultipartUpload(new InitiateMultipartUploadRequest(
+                bucketName, key, AliyunOSSObjectCopier.copyOf(sourceMetadata))).getUploadId();
+        try {
+            List<Callable<PartETag>> parts = new ArrayList<>();
+            int partNumber = 0;
+            for (long begin = 0; begin < length; begin += partSize) {
+                int number = ++partNumber;
+                long position = begin;
+                long size = Math.min(partSize, length - begin);
+                parts.add(() -> transferPart(uploadId, number, eTag, position, size));
+            }
+            List<PartETag> partETags = AliyunOSSTasks.invokeAll(executor, parallelism, parts);
+            return oss.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags)).getETag();
+        } catch (RuntimeException e) {
+            try {
+                oss.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            } catch (RuntimeException ignore) {
+            }
+            throw e;
+        }
+    }
+
+    private String putObject(String eTag, long length) {
+        byte[] buffer = bufferPool.acquire();
+        try {
+            ObjectMetadata objectMetadata = read(eTag, 0, (int) length, buffer);
+            objectMetadata.setContentLength(length);
+            return oss.putObject(bucketName, key, new ByteArrayInputStream(buffer, 0, (int) length), objectMetadata)
+                    .getETag();
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    private PartETag transferPart(String uploadId, int partNumber, String eTag, long position, long size) {
+        if (size > bufferPool.getBufferSize()) {
+            return streamPart(uploadId, partNumber, eTag, position, size);
+        }
+        byte[] buffer = bufferPool.acquire();
+        try {
+            read(eTag, position, (int) size, buffer);
+            UploadPartRequest uploadPartRequest = new UploadPartRequest(bucketName, key, uploadId, partNumber,
+                    new ByteArrayInputStream(buffer, 0, (int) size), size);
+            return oss.uploadPart(uploadPartRequest).getPartETag();
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * 范围GET的响应流直接作为分块上传，不占用缓冲区；流不能重读，失败时整块重试
+     */
+    private PartETag streamPart(String uploadId, int partNumber, String eTag, long position, long size) {
+        int retries = 0;
+        while (true) {
+            GetObjectRequest getObjectRequest = new GetObjectRequest(sourceBucketName, sourceKey);
+            getObjectRequest.setRange(position, position + size - 1);
+            getObjectRequest.setMatchingETagConstraints(Collections.singletonList(eTag));
+            try (OSSObject object = sourceOSS.getObject(getObjectRequest);
+                 InputStream stream = object.getObjectContent()) {
+                UploadPartRequest uploadPartRequest = new UploadPartRequest(bucketName, key, uploadId, partNumber,
+                        stream, size);
+                return oss.uploadPart(uploadPartRequest).getPartETag();
+            } catch (IOException | ClientException e) {
+                // ETag不匹配等服务端错误为OSSException，不重试
+                if (++retries > maxRetries) {
+                    throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (ClientException) e;
+                }
+            }
+        }
+    }
+
+    /**
+     * 范围读取到缓冲区，失败时从已读取位置重试；返回可用于上传的源对象属性
+     */
+    private ObjectMetadata read(String eTag, long position, int size, byte[] buffer) {
+        ObjectMetadata objectMetadata = null;
+        int offset = 0;
+        int retries = 0;
+        while (true) {
+            GetObjectRequest getObjectRequest = new GetObjectRequest(sourceBucketName, sourceKey);
+            if (size > 0) {
+                getObjectRequest.setRange(position + offset, position + size - 1);
+            }
+            getObjectRequest.setMatchingETagConstraints(Collections.singletonList(eTag));
+            try (OSSObject object = sourceOSS.getObject(getObjectRequest);
+                 InputStream stream = object.getObjectContent()) {
+                if (objectMetadata == null) {
+                    objectMetadata = AliyunOSSObjectCopier.copyOf(object.getObjectMetadata());
+                }
+                while (offset < size) {
+                    int n = stream.read(buffer, offset, size - offset);
+                    if (n < 0) {
+                        throw new IOException("Unexpected end of stream: " + this + " " + (position + offset));
+                    }
+                    offset += n;
+                }
+                return objectMetadata;
+            } catch (IOException | ClientException e) {
+                // ETag不匹配等服务端错误为OSSException，不重试
+                if (++retries > maxRetries) {
+                    throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (ClientException) e;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "oss://" + sourceBucketName + "/" + sourceKey + " -> oss://" + bucketName + "/" + key;
+    }
+}
@@ -6,25 +6,81 @@ import com.aliyun.oss.model.AppendObjectRequest;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * OSS写入流，通过appendObject实现
+ * <p>
+ * 默认每次write直接提交一次appendObject；指定缓冲区大小时启用合并提交：
+ * 写入数据先进入缓冲区，缓冲区满、超过刷新间隔、flush或close时，将累积数据合并为一次appendObject提交，
+ * 提交失败时数据保留在缓冲区，下一次提交重试
  */
 public class AliyunOSSOutputStream extends OutputStream {
+    public static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
     private final OSS oss;
     private final String bucketName;
     private final String key;
-    private long position;
+    private final int bufferSize;
+    /**
+     * 提交锁，同一时刻只有一个appendObject请求，提交期间写入继续进入新缓冲区
+     */
+    private final Object commitLock = new Object();
+    private volatile long position;
+    private byte[] buffer;
+    private int count;
+    private byte[] spare;
+    /**
+     * 后台刷新失败的错误，在下一次write/flush/close时抛出
+     */
+    private volatile IOException error;
+    private volatile boolean closed;
+    private ScheduledFuture<?> flusher;
 
     public AliyunOSSOutputStream(OSS oss, String bucketName, String key) {
         this(oss, bucketName, key, 0L);
     }
 
     public AliyunOSSOutputStream(OSS oss, String bucketName, String key, long position) {
+        this(oss, bucketName, key, position, 0);
+    }
+
+    /**
+     * @param bufferSize 合并提交的缓冲区大小，为0时不缓冲，每次write直接提交
+     */
+    public AliyunOSSOutputStream(OSS oss, String bucketName, String key, long position, int bufferSize) {
+        if (bufferSize < 0) {
+            throw new IllegalArgumentException("bufferSize: " + bufferSize);
+        }
         this.oss = oss;
         this.bucketName = bucketName;
         this.key = key;
         this.position = position;
+        this.bufferSize = bufferSize;
+        if (bufferSize > 0) {
+            this.buffer = new byte[bufferSize];
+            this.spare = new byte[bufferSize];
+        }
+    }
+
+    /**
+     * @param executor      后台刷新线程池
+     * @param flushInterval 后台刷新间隔（毫秒），缓冲数据最多延迟该时间提交
+     */
+    public AliyunOSSOutputStream(OSS oss, String bucketName, String key, long position, int bufferSize,
+                                 ScheduledExecutorService executor, long flushInterval) {
+        this(oss, bucketName, key, position, bufferSize);
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize: " + bufferSize);
+        }
+        if (flushInterval <= 0) {
+            throw new IllegalArgumentException("flushInterval: " + flushInterval);
+        }
+        this.flusher = executor.scheduleWithFixedDelay(
+                this::flushQuietly, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
     }
 
     public OSS getOSS() {
@@ -39,13 +95,32 @@ public class AliyunOSSOutputStream extends OutputStream {
         return key;
     }
 
+    /**
+     * 已提交位置，不含缓冲区中未提交数据
+     */
     public long getPosition() {
         return position;
     }
 
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
     @Override
     public void write(int b) throws IOException {
-        write(new byte[]{(byte) b});
+        if (bufferSize == 0) {
+            write(new byte[]{(byte) b});
+            return;
+        }
+        ensureOpen();
+        synchronized (this) {
+            ensureCapacity(count + 1);
+            buffer[count++] = (byte) b;
+            if (count < bufferSize) {
+                return;
+            }
+        }
+        commit();
     }
 
     @Override
@@ -54,9 +129,127 @@ public class AliyunOSSOutputStream extends OutputStream {
     }
 
     @Override
-    public synchronized void write(byte[] b, int off, int len) throws IOException {
-        position = oss.appendObject(
-                new AppendObjectRequest(bucketName, key, new ByteArrayInputStream(b, off, len))
-                        .withPosition(position)).getNextPosition();
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return;
+        }
+        ensureOpen();
+        if (bufferSize == 0) {
+            synchronized (commitLock) {
+                append(b, off, len);
+            }
+            return;
+        }
+        synchronized (this) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+            if (count < bufferSize) {
+                return;
+            }
+        }
+        commit();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        commit();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (flusher != null) {
+            flusher.cancel(false);
+        }
+        throwError();
+        // 提交失败时不关闭，可重试close
+        commit();
+        closed = true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        throwError();
+    }
+
+    private void throwError() throws IOException {
+        IOException e = error;
+        if (e != null) {
+            error = null;
+            throw e;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+        }
+    }
+
+    /**
+     * 提交缓冲区中所有数据，提交期间其他线程的写入进入备用缓冲区，由下一次提交合并写入；
+     * 提交失败时数据放回缓冲区头部
+     */
+    private void commit() throws IOException {
+        if (bufferSize == 0) {
+            return;
+        }
+        synchronized (commitLock) {
+            byte[] data;
+            int length;
+            synchronized (this) {
+                if (count == 0) {
+                    return;
+                }
+                data = buffer;
+                length = count;
+                buffer = spare.length >= bufferSize ? spare : new byte[bufferSize];
+                count = 0;
+            }
+            try {
+                append(data, 0, length);
+            } catch (IOException e) {
+                synchronized (this) {
+                    byte[] merged = length + count > data.length ? new byte[length + count] : data;
+                    System.arraycopy(buffer, 0, merged, length, count);
+                    if (merged != data) {
+                        System.arraycopy(data, 0, merged, 0, length);
+                    }
+                    spare = buffer;
+                    buffer = merged;
+                    count += length;
+                }
+                throw e;
+            }
+            // 超大写入扩容的缓冲区不保留
+            spare = data.length == bufferSize ? data : new byte[bufferSize];
+        }
+    }
+
+    private void append(byte[] b, int off, int len) throws IOException {
+        try {
+            position = oss.appendObject(
+                    new AppendObjectRequest(bucketName, key, new ByteArrayInputStream(b, off, len))
+                            .withPosition(position)).getNextPosition();
+        } catch (RuntimeException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            commit();
+        } catch (IOException e) {
+            error = e;
+        }
     }
 }
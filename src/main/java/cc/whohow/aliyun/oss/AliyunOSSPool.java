@@ -2,29 +2,301 @@ package cc.whohow.aliyun.oss;
 
 import com.aliyun.oss.OSS;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
+/**
+ * OSS客户端池
+ * <p>
+ * lease/release按引用计数借用客户端，归还后空闲超时或超出容量时按最近最少使用顺序淘汰并关闭；
+ * 仍被借用的客户端不会被关闭。apply获取的客户端调用方无从归还，常驻直到连接池关闭，兼容旧用法，不计入淘汰。
+ * 新建客户端在连接池锁外进行，同时新建的重复客户端随即关闭。
+ */
 public class AliyunOSSPool implements Function<AliyunOSSUri, OSS>, AutoCloseable {
     private final Function<AliyunOSSUri, OSS> factory;
-    private final Map<AliyunOSSUri, OSS> pool = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long maxIdleTime;
+    private final ScheduledFuture<?> evictor;
+    private final Map<AliyunOSSUri, Entry> pool = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long creations;
+    private long evictions;
+    private boolean closed;
 
+    /**
+     * 不限容量、不淘汰
+     */
     public AliyunOSSPool(Function<AliyunOSSUri, OSS> factory) {
+        this(factory, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * @param maxSize     客户端数上限，被借用的客户端不计入淘汰
+     * @param maxIdleTime 归还后空闲超过该时间即淘汰，为null时不按空闲时间淘汰
+     */
+    public AliyunOSSPool(Function<AliyunOSSUri, OSS> factory, int maxSize, Duration maxIdleTime) {
+        this(factory, maxSize, maxIdleTime, null);
+    }
+
+    /**
+     * @param maxSize     客户端数上限，被借用的客户端不计入淘汰
+     * @param maxIdleTime 归还后空闲超过该时间即淘汰，为null时不按空闲时间淘汰
+     * @param scheduler   定时淘汰空闲客户端，不依赖下一次访问连接池；为null时只在访问时淘汰
+     */
+    public AliyunOSSPool(Function<AliyunOSSUri, OSS> factory, int maxSize, Duration maxIdleTime,
+                         ScheduledExecutorService scheduler) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize: " + maxSize);
+        }
         this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxIdleTime = maxIdleTime == null ? Long.MAX_VALUE : maxIdleTime.toNanos();
+        if (scheduler != null && maxIdleTime != null) {
+            long period = Math.max(TimeUnit.SECONDS.toNanos(1), this.maxIdleTime / 2);
+            this.evictor = scheduler.scheduleWithFixedDelay(this::evict, period, period, TimeUnit.NANOSECONDS);
+        } else {
+            this.evictor = null;
+        }
     }
 
+    /**
+     * 获取常驻客户端
+     */
     @Override
     public OSS apply(AliyunOSSUri uri) {
-        return pool.computeIfAbsent(uri, factory);
+        OSS oss = get(uri, false).oss;
+        evict();
+        return oss;
+    }
+
+    /**
+     * 借用客户端，使用完毕后必须关闭Lease
+     */
+    public Lease lease(AliyunOSSUri uri) {
+        Lease lease = new Lease(get(uri, true));
+        evict();
+        return lease;
+    }
+
+    /**
+     * 淘汰空闲超时及超出容量的客户端，返回淘汰数
+     */
+    public int evict() {
+        List<OSS> evicted = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            int size = pool.size();
+            for (Iterator<Entry> it = pool.values().iterator(); it.hasNext(); ) {
+                Entry entry = it.next();
+                if (entry.pinned || entry.refCount > 0) {
+                    continue;
+                }
+                if (size > maxSize || now - entry.lastAccess > maxIdleTime) {
+                    it.remove();
+                    evicted.add(entry.oss);
+                    size--;
+                }
+            }
+            evictions += evicted.size();
+        }
+        evicted.forEach(this::close);
+        return evicted.size();
+    }
+
+    public synchronized Stats getStats() {
+        int leased = 0;
+        for (Entry entry : pool.values()) {
+            if (entry.refCount > 0) {
+                leased++;
+            }
+        }
+        return new Stats(hits, creations, evictions, pool.size(), leased);
     }
 
     @Override
     public void close() throws Exception {
-        pool.values().forEach(this::close);
+        if (evictor != null) {
+            evictor.cancel(false);
+        }
+        List<OSS> clients;
+        synchronized (this) {
+            closed = true;
+            clients = new ArrayList<>(pool.size());
+            for (Entry entry : pool.values()) {
+                // 仍被借用的客户端在归还时关闭
+                if (entry.refCount == 0) {
+                    clients.add(entry.oss);
+                }
+            }
+            pool.clear();
+        }
+        clients.forEach(this::close);
+    }
+
+    /**
+     * 获取或新建客户端，新建在锁外进行，不阻塞其他地址的获取
+     */
+    private Entry get(AliyunOSSUri uri, boolean lease) {
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("closed");
+            }
+            Entry entry = pool.get(uri);
+            if (entry != null) {
+                hits++;
+                return access(entry, lease);
+            }
+        }
+        OSS oss = factory.apply(uri);
+        Entry entry;
+        synchronized (this) {
+            if (!closed) {
+                entry = pool.get(uri);
+                if (entry == null) {
+                    entry = new Entry(oss);
+                    pool.put(uri, entry);
+                    creations++;
+                    return access(entry, lease);
+                }
+                hits++;
+                access(entry, lease);
+            } else {
+                entry = null;
+            }
+        }
+        // 其他线程已新建或连接池已关闭
+        close(oss);
+        if (entry == null) {
+            throw new IllegalStateException("closed");
+        }
+        return entry;
+    }
+
+    private Entry access(Entry entry, boolean lease) {
+        if (lease) {
+            entry.refCount++;
+        } else {
+            entry.pinned = true;
+        }
+        entry.lastAccess = System.nanoTime();
+        return entry;
+    }
+
+    private void release(Entry entry) {
+        boolean shutdown;
+        synchronized (this) {
+            entry.refCount--;
+            entry.lastAccess = System.nanoTime();
+            // 借用期间连接池已关闭
+            shutdown = closed && entry.refCount == 0;
+        }
+        if (shutdown) {
+            close(entry.oss);
+        } else {
+            evict();
+        }
     }
 
     private void close(OSS oss) {
         oss.shutdown();
     }
+
+    private static class Entry {
+        final OSS oss;
+        int refCount;
+        long lastAccess = System.nanoTime();
+        boolean pinned;
+
+        Entry(OSS oss) {
+            this.oss = oss;
+        }
+    }
+
+    /**
+     * 借用的客户端，关闭时归还
+     */
+    public class Lease implements Supplier<OSS>, AutoCloseable {
+        private final Entry entry;
+        private boolean released;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public OSS get() {
+            if (released) {
+                throw new IllegalStateException("released");
+            }
+            return entry.oss;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (!released) {
+                released = true;
+                release(entry);
+            }
+        }
+    }
+
+    /**
+     * 连接池统计快照
+     */
+    public static class Stats {
+        private final long hits;
+        private final long creations;
+        private final long evictions;
+        private final int size;
+        private final int leased;
+
+        public Stats(long hits, long creations, long evictions, int size, int leased) {
+            this.hits = hits;
+            this.creations = creations;
+            this.evictions = evictions;
+            this.size = size;
+            this.leased = leased;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getCreations() {
+            return creations;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * 存活的客户端数
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * 正在借用的客户端数
+         */
+        public int getLeased() {
+            return leased;
+        }
+
+        @Override
+        public String toString() {
+            return "hits=" + hits + " creations=" + creations + " evictions=" + evictions +
+                    " size=" + size + " leased=" + leased;
+        }
+    }
 }
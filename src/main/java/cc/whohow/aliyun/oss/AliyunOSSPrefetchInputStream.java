@@ -0,0 +1,253 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.OSSObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 并行预读输入流
+ * <p>
+ * 按缓冲区大小将对象分段，保持最多prefetch个范围请求在读取位置之前进行，按顺序输出；
+ * 缓冲区取自缓冲区池，读完归还。单段读取中断时从已读位置续传；
+ * 所有范围请求以If-Match固定到同一ETag，读取期间对象被覆盖时失败。
+ * 调用线程等待某段时若该段尚未开始则自行执行，线程池繁忙时退化为串行读取。
+ */
+public class AliyunOSSPrefetchInputStream extends InputStream {
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    private final OSS oss;
+    private final String bucketName;
+    private final String key;
+    private final String eTag;
+    private final long length;
+    private final Executor executor;
+    private final AliyunOSSBufferPool bufferPool;
+    private final int prefetch;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private long nextPosition;
+    private Segment current;
+    private int offset;
+    private volatile boolean closed;
+
+    /**
+     * @param prefetch 同时进行的范围请求数
+     */
+    public AliyunOSSPrefetchInputStream(OSS oss, String bucketName, String key, String eTag, long length,
+                                        Executor executor, AliyunOSSBufferPool bufferPool, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch: " + prefetch);
+        }
+        this.oss = oss;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.eTag = eTag;
+        this.length = length;
+        this.executor = executor;
+        this.bufferPool = bufferPool;
+        this.prefetch = prefetch;
+    }
+
+    public AliyunOSSPrefetchInputStream setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) < 0 ? -1 : (b[0] & 0xff);
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (closed) {
+            throw new IOException("closed");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextSegment()) {
+            return -1;
+        }
+        int n = Math.min(len, current.size - offset);
+        System.arraycopy(current.buffer, offset, b, off, n);
+        offset += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && nextSegment()) {
+            int count = (int) Math.min(n - skipped, current.size - offset);
+            offset += count;
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.size - offset;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (current != null) {
+            bufferPool.release(current.buffer);
+            current = null;
+        }
+        for (Segment segment : segments) {
+            if (!segment.future.cancel(false)) {
+                // 正在读取的段须等待结束后才能归还缓冲区
+                try {
+                    segment.future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException | CancellationException ignore) {
+                }
+            }
+            bufferPool.release(segment.buffer);
+        }
+        segments.clear();
+    }
+
+    /**
+     * 当前段读完时切换到下一段，返回是否还有数据
+     */
+    private boolean nextSegment() throws IOException {
+        if (current != null && offset < current.size) {
+            return true;
+        }
+        if (current != null) {
+            bufferPool.release(current.buffer);
+            current = null;
+        }
+        schedule();
+        Segment segment = segments.pollFirst();
+        if (segment == null) {
+            return false;
+        }
+        await(segment);
+        current = segment;
+        offset = 0;
+        schedule();
+        return true;
+    }
+
+    /**
+     * 补足预读请求；首段阻塞等待缓冲区，其余段仅在有空闲缓冲区时发起，避免占满缓冲区池后互相等待
+     */
+    private void schedule() {
+        while (segments.size() < prefetch && nextPosition < length) {
+            byte[] buffer;
+            if (segments.isEmpty() && current == null) {
+                buffer = bufferPool.acquire();
+            } else {
+                buffer = bufferPool.tryAcquire();
+                if (buffer == null) {
+                    return;
+                }
+            }
+            int size = (int) Math.min(buffer.length, length - nextPosition);
+            Segment segment = new Segment(nextPosition, buffer, size);
+            nextPosition += size;
+            segments.addLast(segment);
+            try {
+                executor.execute(segment.future);
+            } catch (RejectedExecutionException ignore) {
+                // 由调用线程在读取时执行
+            }
+        }
+    }
+
+    private void await(Segment segment) throws IOException {
+        segment.future.run();
+        try {
+            segment.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            segments.addFirst(segment);
+            close();
+            throw new InterruptedIOException();
+        } catch (ExecutionException e) {
+            // 续传仍失败，不再继续读取
+            segments.addFirst(segment);
+            close();
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw AliyunOSSTasks.propagate(cause);
+        }
+    }
+
+    /**
+     * 读取一段，中断时从已读位置续传
+     */
+    private void fetch(Segment segment) throws IOException {
+        int filled = 0;
+        int retries = 0;
+        while (true) {
+            GetObjectRequest getObjectRequest = new GetObjectRequest(bucketName, key);
+            getObjectRequest.setRange(segment.position + filled, segment.position + segment.size - 1);
+            getObjectRequest.setMatchingETagConstraints(Collections.singletonList(eTag));
+            try (OSSObject object = oss.getObject(getObjectRequest);
+                 InputStream stream = object.getObjectContent()) {
+                while (filled < segment.size) {
+                    int n = stream.read(segment.buffer, filled, segment.size - filled);
+                    if (n < 0) {
+                        throw new IOException("Unexpected end of stream: " + this + " " + (segment.position + filled));
+                    }
+                    filled += n;
+                }
+                return;
+            } catch (IOException | ClientException e) {
+                // ETag不匹配等服务端错误为OSSException，不重试
+                if (closed || ++retries > maxRetries) {
+                    throw e instanceof IOException ? (IOException) e : new IOException(e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "oss://" + bucketName + "/" + key;
+    }
+
+    private class Segment {
+        final long position;
+        final byte[] buffer;
+        final int size;
+        final FutureTask<Void> future;
+
+        Segment(long position, byte[] buffer, int size) {
+            this.position = position;
+            this.buffer = buffer;
+            this.size = size;
+            this.future = new FutureTask<>(() -> {
+                fetch(this);
+                return null;
+            });
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package cc.whohow.aliyun.oss;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 并行任务工具
+ * <p>
+ * 调用线程参与执行任务，线程池繁忙或嵌套调用时退化为串行执行，不会因互相等待而死锁
+ */
+public class AliyunOSSTasks {
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    /**
+     * 批量任务，将处理结果记录到result
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        void accept(T t, AliyunOSSBatchResult result) throws Exception;
+    }
+
+    /**
+     * 以不超过parallelism的并发度执行所有任务，按顺序返回结果；任一任务失败时不再执行剩余任务并抛出异常
+     */
+    public static <T> List<T> invokeAll(Executor executor, int parallelism, List<? extends Callable<T>> tasks) {
+        int n = tasks.size();
+        List<FutureTask<T>> futures = new ArrayList<>(n);
+        for (Callable<T> task : tasks) {
+            futures.add(new FutureTask<>(task));
+        }
+        AtomicInteger next = new AtomicInteger();
+        Runnable worker = () -> {
+            for (int i = next.getAndIncrement(); i < n; i = next.getAndIncrement()) {
+                FutureTask<T> future = futures.get(i);
+                future.run();
+                if (isFailed(future)) {
+                    // 停止领取剩余任务
+                    next.set(n);
+                    return;
+                }
+            }
+        };
+        for (int i = 1; i < Math.min(parallelism, n); i++) {
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        worker.run();
+
+        // 未被领取的任务不会再执行
+        for (int i = Math.min(next.getAndSet(n), n); i < n; i++) {
+            futures.get(i).cancel(false);
+        }
+        List<T> results = new ArrayList<>(n);
+        Throwable error = null;
+        for (FutureTask<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (CancellationException ignore) {
+            } catch (ExecutionException e) {
+                if (error == null) {
+                    error = e.getCause();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new UncheckedIOException(new InterruptedIOException());
+            }
+        }
+        if (error != null) {
+            throw propagate(error);
+        }
+        return results;
+    }
+
+    /**
+     * 流水线批量执行：调用线程遍历数据源，同时最多parallelism个任务在线程池中执行，遍历与执行重叠；
+     * 单个任务失败不中断批量操作，失败项记录到结果中
+     *
+     * @param name 任务名称（通常为对象键），用于记录失败项
+     */
+    public static <T> AliyunOSSBatchResult forEach(Executor executor, int parallelism, Iterator<T> source,
+                                                   Function<T, String> name, Task<T> task) {
+        AliyunOSSBatchResult result = new AliyunOSSBatchResult();
+        Deque<FutureTask<?>> inFlight = new ArrayDeque<>(parallelism);
+        while (source.hasNext()) {
+            T item = source.next();
+            while (inFlight.size() >= parallelism) {
+                inFlight.removeIf(FutureTask::isDone);
+                if (inFlight.size() >= parallelism) {
+                    await(inFlight.removeFirst());
+                }
+            }
+            FutureTask<?> future = new FutureTask<>(() -> {
+                try {
+                    task.accept(item, result);
+                } catch (Exception e) {
+                    result.addFailure(name.apply(item), e);
+                }
+            }, null);
+            inFlight.addLast(future);
+            try {
+                executor.execute(future);
+            } catch (RejectedExecutionException e) {
+                future.run();
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            await(inFlight.removeFirst());
+        }
+        return result;
+    }
+
+    /**
+     * 按固定大小分批
+     */
+    public static <T> Iterator<List<T>> partition(Iterator<T> iterator, int size) {
+        return new Iterator<List<T>>() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public List<T> next() {
+                List<T> batch = new ArrayList<>(size);
+                while (batch.size() < size && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }
+        };
+    }
+
+    /**
+     * 限制遍历速率，permitsPerSecond不大于0时不限速
+     */
+    public static <T> Iterator<T> throttle(Iterator<T> iterator, double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            return iterator;
+        }
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        return new Iterator<T>() {
+            private long next = System.nanoTime();
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                long delay = next - System.nanoTime();
+                if (delay > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(delay);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new UncheckedIOException(new InterruptedIOException());
+                    }
+                }
+                next = Math.max(next, System.nanoTime() - interval) + interval;
+                return iterator.next();
+            }
+        };
+    }
+
+    /**
+     * 等待任务完成；若线程池尚未执行该任务，由当前线程执行
+     */
+    private static void await(FutureTask<?> future) {
+        future.run();
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException());
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        }
+    }
+
+    /**
+     * 转换为非受检异常
+     */
+    public static RuntimeException propagate(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        if (e instanceof IOException) {
+            return new UncheckedIOException((IOException) e);
+        }
+        return new UndeclaredThrowableException(e);
+    }
+
+    private static boolean isFailed(FutureTask<?> future) {
+        try {
+            future.get();
+            return false;
+        } catch (Exception e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.*;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+/**
+ * 上传链接内容
+ * <p>
+ * 首个请求带Range头探测：源站支持范围请求且长度已知时，按分块并发下载，每块作为一个分块上传，单块失败只重试该块；
+ * 后续范围请求以If-Range固定到首个响应的ETag（或Last-Modified），源文件变化时失败。
+ * 源站不支持范围请求、总长度未知（Content-Range: bytes 0-N/*）或内容为空（416）时，不带Range重新请求，流式分块上传。
+ * 分块大小按总长度增大，不超过10000个分块；超过设定分块大小的分块不缓冲，直接以范围响应流上传。
+ */
+public class AliyunOSSUrlUploader implements Callable<String> {
+    public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+    public static final int DEFAULT_PARALLELISM = 8;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    private final CloseableHttpClient httpClient;
+    private final URL url;
+    private final OSS oss;
+    private final String bucketName;
+    private final String key;
+    private final ObjectMetadata objectMetadata;
+    private final Executor executor;
+    private int partSize = DEFAULT_PART_SIZE;
+    private int parallelism = DEFAULT_PARALLELISM;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+
+    public AliyunOSSUrlUploader(CloseableHttpClient httpClient, URL url,
+                                OSS oss, String bucketName, String key, ObjectMetadata objectMetadata,
+                                Executor executor) {
+        this.httpClient = httpClient;
+        this.url = url;
+        this.oss = oss;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.objectMetadata = objectMetadata == null ? new ObjectMetadata() : objectMetadata;
+        this.executor = executor;
+    }
+
+    public AliyunOSSUrlUploader setPartSize(int partSize) {
+        if (partSize < AliyunOSSMultipartOutputStream.MIN_PART_SIZE) {
+            throw new IllegalArgumentException("partSize: " + partSize);
+        }
+        this.partSize = partSize;
+        return this;
+    }
+
+    public AliyunOSSUrlUploader setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public AliyunOSSUrlUploader setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+        return this;
+    }
+
+    /**
+     * 上传，返回目标对象ETag
+     */
+    @Override
+    public String call() {
+        try {
+            try (CloseableHttpResponse response = httpClient.execute(
+                    RequestBuilder.get(url.toURI())
+                            .addHeader(HttpHeaders.RANGE, "bytes=0-" + (partSize - 1))
+                            .build())) {
+                int status = response.getStatusLine().getStatusCode();
+                if (status == HttpStatus.SC_REQUESTED_RANGE_NOT_SATISFIABLE) {
+                    // 空内容，没有可满足的范围
+                    return upload();
+                }
+                if (status >= HttpStatus.SC_BAD_REQUEST) {
+                    throw new IOException(response.getStatusLine().getReasonPhrase());
+                }
+                HttpEntity httpEntity = response.getEntity();
+                setContentType(httpEntity);
+                if (status != HttpStatus.SC_PARTIAL_CONTENT) {
+                    // 不支持范围请求
+                    return upload(httpEntity);
+                }
+                long length = getInstanceLength(response);
+                if (length >= 0) {
+                    byte[] first = read(httpEntity.getContent(), (int) Math.min(partSize, length));
+                    if (length <= partSize) {
+                        objectMetadata.setContentLength(length);
+                        return oss.putObject(bucketName, key, new ByteArrayInputStream(first), objectMetadata).getETag();
+                    }
+                    return uploadParts(first, length, getValidator(response));
+                }
+            }
+            // 总长度未知，无法分块下载
+            return upload();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * 不带Range重新请求，流式分块上传
+     */
+    private String upload() throws IOException, URISyntaxException {
+        try (CloseableHttpResponse response = httpClient.execute(RequestBuilder.get(url.toURI()).build())) {
+            if (response.getStatusLine().getStatusCode() >= HttpStatus.SC_BAD_REQUEST) {
+                throw new IOException(response.getStatusLine().getReasonPhrase());
+            }
+            HttpEntity httpEntity = response.getEntity();
+            if (httpEntity == null) {
+                objectMetadata.setContentLength(0);
+                return oss.putObject(bucketName, key, new ByteArrayInputStream(new byte[0]), objectMetadata).getETag();
+            }
+            setContentType(httpEntity);
+            return upload(httpEntity);
+        }
+    }
+
+    private void setContentType(HttpEntity httpEntity) {
+        Header contentType = httpEntity.getContentType();
+        if (objectMetadata.getContentType() == null && contentType != null) {
+            objectMetadata.setContentType(contentType.getValue());
+        }
+    }
+
+    /**
+     * 流式分块上传
+     */
+    private String upload(HttpEntity httpEntity) throws IOException {
+        if (httpEntity.getContentLength() >= 0 && httpEntity.getContentLength() <= partSize) {
+            objectMetadata.setContentLength(httpEntity.getContentLength());
+            try (InputStream stream = httpEntity.getContent()) {
+                return oss.putObject(bucketName, key, stream, objectMetadata).getETag();
+            }
+        }
+        AliyunOSSMultipartOutputStream output = new AliyunOSSMultipartOutputStream(
+                oss, bucketName, key, objectMetadata, partSize, parallelism, executor);
+        try (InputStream input = httpEntity.getContent();
+             OutputStream o = output) {
+            byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = input.read(buffer)) >= 0) {
+                o.write(buffer, 0, n);
+            }
+        }
+        return output.getETag();
+    }
+
+    private String uploadParts(byte[] first, long length, String validator) {
+        String uploadId = oss.initiateMultipartUpload(
+                new InitiateMultipartUploadRequest(bucketName, key, objectMetadata)).getUploadId();
+        try {
+            List<Callable<PartETag>> parts = new ArrayList<>();
+            parts.add(() -> uploadPart(uploadId, 1, first));
+            // 首块之外不超过9999块
+            long remaining = length - first.length;
+            long size = Math.max(partSize,
+                    (remaining + AliyunOSSMultipartOutputStream.MAX_PARTS - 2) / (AliyunOSSMultipartOutputStream.MAX_PARTS - 1));
+            int partNumber = 1;
+            for (long begin = first.length; begin < length; begin += size) {
+                int number = ++partNumber;
+                long position = begin;
+                long count = Math.min(size, length - begin);
+                parts.add(() -> transferPart(uploadId, number, position, count, validator));
+            }
+            List<PartETag> partETags = AliyunOSSTasks.invokeAll(executor, parallelism, parts);
+            return oss.completeMultipartUpload(
+                    new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags)).getETag();
+        } catch (RuntimeException e) {
+            try {
+                oss.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            } catch (RuntimeException ignore) {
+            }
+            throw e;
+        }
+    }
+
+    private PartETag transferPart(String uploadId, int partNumber, long position, long size, String validator)
+            throws IOException, URISyntaxException {
+        int retries = 0;
+        while (true) {
+            try (CloseableHttpResponse response = download(position, size, validator)) {
+                InputStream stream = response.getEntity().getContent();
+                if (size > partSize) {
+                    // 流不能重读，失败时整块重试
+                    return oss.uploadPart(new UploadPartRequest(bucketName, key, uploadId, partNumber, stream, size))
+                            .getPartETag();
+                }
+                return uploadPart(uploadId, partNumber, read(stream, (int) size));
+            } catch (IOException | ClientException e) {
+                if (++retries > maxRetries) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private CloseableHttpResponse download(long position, long size, String validator)
+            throws IOException, URISyntaxException {
+        RequestBuilder request = RequestBuilder.get(url.toURI())
+                .addHeader(HttpHeaders.RANGE, "bytes=" + position + "-" + (position + size - 1));
+        if (validator != null) {
+            request.addHeader(HttpHeaders.IF_RANGE, validator);
+        }
+        CloseableHttpResponse response = httpClient.execute(request.build());
+        int status = response.getStatusLine().getStatusCode();
+        if (status == HttpStatus.SC_PARTIAL_CONTENT) {
+            return response;
+        }
+        response.close();
+        if (status >= HttpStatus.SC_INTERNAL_SERVER_ERROR) {
+            throw new IOException(response.getStatusLine().getReasonPhrase());
+        }
+        // 源文件已变化或不再支持范围请求，重试无意义
+        throw new IllegalStateException("Range request failed: " + url + " " + response.getStatusLine());
+    }
+
+    private PartETag uploadPart(String uploadId, int partNumber, byte[] data) {
+        UploadPartRequest uploadPartRequest = new UploadPartRequest(bucketName, key, uploadId, partNumber,
+                new ByteArrayInputStream(data), data.length);
+        return oss.uploadPart(uploadPartRequest).getPartETag();
+    }
+
+    private byte[] read(InputStream stream, int size) throws IOException {
+        try (InputStream input = stream) {
+            byte[] data = new byte[size];
+            int offset = 0;
+            while (offset < size) {
+                int n = input.read(data, offset, size - offset);
+                if (n < 0) {
+                    throw new EOFException(url.toString());
+                }
+                offset += n;
+            }
+            return data;
+        }
+    }
+
+    /**
+     * Content-Range: bytes 0-1023/146515，总长度未知（bytes 0-1023/*）时返回-1
+     */
+    private long getInstanceLength(CloseableHttpResponse response) {
+        Header contentRange = response.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+        if (contentRange != null) {
+            String value = contentRange.getValue();
+            int index = value.lastIndexOf('/');
+            if (index >= 0 && !value.endsWith("*")) {
+                try {
+                    return Long.parseLong(value.substring(index + 1).trim());
+                } catch (NumberFormatException ignore) {
+                }
+            }
+        }
+        return -1;
+    }
+
+    private String getValidator(CloseableHttpResponse response) {
+        Header eTag = response.getFirstHeader(HttpHeaders.ETAG);
+        if (eTag != null && !eTag.getValue().startsWith("W/")) {
+            return eTag.getValue();
+        }
+        Header lastModified = response.getFirstHeader(HttpHeaders.LAST_MODIFIED);
+        return lastModified == null ? null : lastModified.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return url + " -> oss://" + bucketName + "/" + key;
+    }
+}
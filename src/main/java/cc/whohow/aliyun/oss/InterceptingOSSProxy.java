@@ -0,0 +1,102 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.OSS;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.*;
+
+/**
+ * OSS拦截器链代理
+ * <p>
+ * 创建时为OSS接口的每个方法预先生成绑定目标客户端的MethodHandle，调用时不再反射；
+ * 包装已有的拦截器链代理时合并为一层，嵌套组合不会叠加代理开销。
+ */
+public class InterceptingOSSProxy implements InvocationHandler {
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final OSS target;
+    private final OSSInterceptor[] interceptors;
+    private final Map<Method, Operation> operations;
+
+    private InterceptingOSSProxy(OSS target, OSSInterceptor[] interceptors) {
+        this.target = target;
+        this.interceptors = interceptors;
+        this.operations = new HashMap<>();
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        for (Method method : OSS.class.getMethods()) {
+            try {
+                MethodHandle handle = lookup.unreflect(method)
+                        .bindTo(target)
+                        .asSpreader(Object[].class, method.getParameterCount())
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+                operations.put(method, new Operation(target, method, handle));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * 创建拦截器链代理，拦截器按列表顺序执行
+     */
+    public static OSS newProxy(OSS oss, List<? extends OSSInterceptor> interceptors) {
+        List<OSSInterceptor> chain = new ArrayList<>(interceptors);
+        OSS target = oss;
+        if (Proxy.isProxyClass(oss.getClass()) && Proxy.getInvocationHandler(oss) instanceof InterceptingOSSProxy) {
+            InterceptingOSSProxy inner = (InterceptingOSSProxy) Proxy.getInvocationHandler(oss);
+            chain.addAll(Arrays.asList(inner.interceptors));
+            target = inner.target;
+        }
+        return (OSS) Proxy.newProxyInstance(OSS.class.getClassLoader(), new Class<?>[]{OSS.class},
+                new InterceptingOSSProxy(target, chain.toArray(new OSSInterceptor[0])));
+    }
+
+    public static OSS newProxy(OSS oss, OSSInterceptor... interceptors) {
+        return newProxy(oss, Arrays.asList(interceptors));
+    }
+
+    /**
+     * 拦截器链代理包装的目标客户端，非代理时返回自身
+     */
+    public static OSS unwrap(OSS oss) {
+        if (Proxy.isProxyClass(oss.getClass()) && Proxy.getInvocationHandler(oss) instanceof InterceptingOSSProxy) {
+            return ((InterceptingOSSProxy) Proxy.getInvocationHandler(oss)).target;
+        }
+        return oss;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Operation operation = operations.get(method);
+        if (operation == null) {
+            // Object方法
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            return method.invoke(target, args);
+        }
+        return new OSSInvocation(operation, args == null ? NO_ARGUMENTS : args, interceptors).proceed();
+    }
+
+    static final class Operation {
+        final OSS target;
+        final Method method;
+        final String name;
+        final MethodHandle handle;
+
+        Operation(OSS target, Method method, MethodHandle handle) {
+            this.target = target;
+            this.method = method;
+            this.name = method.getName();
+            this.handle = handle;
+        }
+    }
+}
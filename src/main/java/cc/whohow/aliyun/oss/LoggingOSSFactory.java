@@ -6,13 +6,19 @@ import java.util.function.Function;
 
 public class LoggingOSSFactory implements Function<AliyunOSSUri, OSS> {
     private final Function<AliyunOSSUri, OSS> factory;
+    private final LoggingOSSInterceptor interceptor;
 
     public LoggingOSSFactory(Function<AliyunOSSUri, OSS> factory) {
+        this(factory, new LoggingOSSInterceptor());
+    }
+
+    public LoggingOSSFactory(Function<AliyunOSSUri, OSS> factory, LoggingOSSInterceptor interceptor) {
         this.factory = factory;
+        this.interceptor = interceptor;
     }
 
     @Override
     public OSS apply(AliyunOSSUri uri) {
-        return new LoggingOSSProxy(factory.apply(uri));
+        return InterceptingOSSProxy.newProxy(factory.apply(uri), interceptor);
     }
 }
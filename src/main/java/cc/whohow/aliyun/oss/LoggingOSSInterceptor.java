@@ -0,0 +1,293 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.ServiceException;
+import com.aliyun.oss.common.auth.Credentials;
+import com.aliyun.oss.model.CopyObjectRequest;
+import com.aliyun.oss.model.GenericRequest;
+import com.aliyun.oss.model.UploadPartCopyRequest;
+import com.aliyun.oss.model.UploadPartRequest;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 调试日志拦截器，输出key=value格式：op=getObject bucket=... key=... us=... [error=...]
+ * <p>
+ * 每个操作的消息模板（参数取值方式）在创建时按方法签名预先生成；未开启调试或未被采样时不格式化参数；
+ * 格式化使用线程内复用的StringBuilder；可按操作设置采样率（失败请求总是输出）；可选异步输出，队列满时丢弃。
+ */
+public class LoggingOSSInterceptor implements OSSInterceptor, AutoCloseable {
+    private static final int MAX_BUFFER_SIZE = 4 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private final Log log = LogFactory.getLog(OSS.class);
+    private final Map<Method, Template> templates = new HashMap<>();
+    private final Map<String, Double> samplingRates = new ConcurrentHashMap<>();
+    private volatile double defaultSamplingRate = 1.0;
+    private final BlockingQueue<String> queue;
+    private final Thread writer;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * 同步输出
+     */
+    public LoggingOSSInterceptor() {
+        this(0);
+    }
+
+    /**
+     * @param asyncQueueSize 异步输出队列大小，0为同步输出
+     */
+    public LoggingOSSInterceptor(int asyncQueueSize) {
+        for (Method method : OSS.class.getMethods()) {
+            templates.put(method, new Template(method));
+        }
+        if (asyncQueueSize > 0) {
+            queue = new ArrayBlockingQueue<>(asyncQueueSize);
+            writer = new Thread(this::write, "aliyun-oss-logging");
+            writer.setDaemon(true);
+            writer.start();
+        } else {
+            queue = null;
+            writer = null;
+        }
+    }
+
+    /**
+     * 默认采样率（0~1）
+     */
+    public LoggingOSSInterceptor setDefaultSamplingRate(double samplingRate) {
+        this.defaultSamplingRate = samplingRate;
+        return this;
+    }
+
+    /**
+     * 操作采样率（0~1）
+     */
+    public LoggingOSSInterceptor setSamplingRate(String operation, double samplingRate) {
+        samplingRates.put(operation, samplingRate);
+        return this;
+    }
+
+    /**
+     * 异步队列满时丢弃的日志数
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public Object intercept(OSSInvocation invocation) throws Throwable {
+        if (!log.isDebugEnabled()) {
+            return invocation.proceed();
+        }
+        boolean sampled = isSampled(invocation.getOperation());
+        long timestamp = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            if (sampled) {
+                output(format(invocation, System.nanoTime() - timestamp, null));
+            }
+            return result;
+        } catch (Throwable e) {
+            output(format(invocation, System.nanoTime() - timestamp, e));
+            throw e;
+        }
+    }
+
+    /**
+     * 停止异步输出，等待队列中的日志输出完毕；之后的日志同步输出
+     */
+    @Override
+    public void close() {
+        if (writer == null || closed) {
+            return;
+        }
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 关闭前已通过检查、写线程退出后才入队的日志
+        drain();
+    }
+
+    private boolean isSampled(String operation) {
+        double samplingRate = samplingRates.getOrDefault(operation, defaultSamplingRate);
+        return samplingRate >= 1.0 || (samplingRate > 0.0 && ThreadLocalRandom.current().nextDouble() < samplingRate);
+    }
+
+    private String format(OSSInvocation invocation, long nanos, Throwable error) {
+        StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        Template template = templates.get(invocation.getMethod());
+        template.render(buffer, invocation.getArguments());
+        buffer.append(" us=").append(TimeUnit.NANOSECONDS.toMicros(nanos));
+        if (error != null) {
+            buffer.append(" error=").append(getErrorCode(error));
+        }
+        String message = buffer.toString();
+        if (buffer.capacity() > MAX_BUFFER_SIZE) {
+            // 避免偶发的超长消息长期占用内存
+            BUFFER.remove();
+        }
+        return message;
+    }
+
+    private void output(String message) {
+        if (queue == null || closed) {
+            log.debug(message);
+        } else if (!queue.offer(message)) {
+            dropped.increment();
+        }
+    }
+
+    private void write() {
+        try {
+            while (true) {
+                log.debug(queue.take());
+            }
+        } catch (InterruptedException ignore) {
+            drain();
+        }
+    }
+
+    private void drain() {
+        String message;
+        while ((message = queue.poll()) != null) {
+            log.debug(message);
+        }
+    }
+
+    private static String getErrorCode(Throwable e) {
+        String errorCode = null;
+        if (e instanceof ServiceException) {
+            errorCode = ((ServiceException) e).getErrorCode();
+        } else if (e instanceof ClientException) {
+            errorCode = ((ClientException) e).getErrorCode();
+        }
+        return errorCode == null ? e.getClass().getSimpleName() : errorCode;
+    }
+
+    @FunctionalInterface
+    private interface Renderer {
+        void render(StringBuilder buffer, Object arg);
+    }
+
+    /**
+     * 消息模板，按参数声明类型预先确定每个参数的输出方式，不可读的参数（流、字节数组等）不输出
+     */
+    private static class Template {
+        private final String prefix;
+        private final int[] indexes;
+        private final Renderer[] renderers;
+
+        Template(Method method) {
+            this.prefix = "op=" + method.getName();
+            List<Integer> indexes = new ArrayList<>();
+            List<Renderer> renderers = new ArrayList<>();
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            int strings = 0;
+            for (int i = 0; i < parameterTypes.length; i++) {
+                Renderer renderer;
+                if (parameterTypes[i] == String.class) {
+                    renderer = key(strings == 0 ? "bucket" : strings == 1 ? "key" : "arg" + i);
+                    strings++;
+                } else {
+                    renderer = getRenderer(parameterTypes[i], "arg" + i);
+                }
+                if (renderer != null) {
+                    indexes.add(i);
+                    renderers.add(renderer);
+                }
+            }
+            this.indexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+            this.renderers = renderers.toArray(new Renderer[0]);
+        }
+
+        private static Renderer getRenderer(Class<?> type, String name) {
+            if (Number.class.isAssignableFrom(type) || type.isPrimitive() || type == Boolean.class ||
+                    type.isEnum() || type == Date.class || type == URL.class) {
+                return key(name);
+            }
+            if (type == File.class) {
+                return (buffer, arg) -> buffer.append(" file=").append(((File) arg).getPath());
+            }
+            if (Credentials.class.isAssignableFrom(type)) {
+                // 不输出密钥
+                return (buffer, arg) -> buffer.append(" accessKeyId=").append(((Credentials) arg).getAccessKeyId());
+            }
+            if (UploadPartRequest.class.isAssignableFrom(type)) {
+                return (buffer, arg) -> {
+                    UploadPartRequest request = (UploadPartRequest) arg;
+                    renderGenericRequest(buffer, request);
+                    buffer.append(" part=").append(request.getPartNumber());
+                };
+            }
+            if (GenericRequest.class.isAssignableFrom(type)) {
+                return (buffer, arg) -> renderGenericRequest(buffer, (GenericRequest) arg);
+            }
+            if (CopyObjectRequest.class.isAssignableFrom(type)) {
+                return (buffer, arg) -> {
+                    CopyObjectRequest request = (CopyObjectRequest) arg;
+                    buffer.append(" srcBucket=").append(request.getSourceBucketName())
+                            .append(" srcKey=").append(request.getSourceKey())
+                            .append(" bucket=").append(request.getDestinationBucketName())
+                            .append(" key=").append(request.getDestinationKey());
+                };
+            }
+            if (UploadPartCopyRequest.class.isAssignableFrom(type)) {
+                return (buffer, arg) -> {
+                    UploadPartCopyRequest request = (UploadPartCopyRequest) arg;
+                    buffer.append(" srcBucket=").append(request.getSourceBucketName())
+                            .append(" srcKey=").append(request.getSourceKey())
+                            .append(" bucket=").append(request.getBucketName())
+                            .append(" key=").append(request.getKey())
+                            .append(" part=").append(request.getPartNumber());
+                };
+            }
+            return null;
+        }
+
+        private static Renderer key(String name) {
+            String prefix = " " + name + "=";
+            return (buffer, arg) -> buffer.append(prefix).append(arg);
+        }
+
+        private static void renderGenericRequest(StringBuilder buffer, GenericRequest request) {
+            buffer.append(" bucket=").append(request.getBucketName());
+            if (request.getKey() != null) {
+                buffer.append(" key=").append(request.getKey());
+            }
+        }
+
+        void render(StringBuilder buffer, Object[] args) {
+            buffer.append(prefix);
+            for (int i = 0; i < indexes.length; i++) {
+                Object arg = args[indexes[i]];
+                if (arg != null) {
+                    renderers[i].render(buffer, arg);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.OSS;
+
+import java.util.function.Function;
+
+public class MetricsOSSFactory implements Function<AliyunOSSUri, OSS> {
+    private final Function<AliyunOSSUri, OSS> factory;
+    private final MetricsOSSInterceptor interceptor;
+
+    public MetricsOSSFactory(Function<AliyunOSSUri, OSS> factory) {
+        this(factory, new AliyunOSSMetrics());
+    }
+
+    public MetricsOSSFactory(Function<AliyunOSSUri, OSS> factory, AliyunOSSMetrics metrics) {
+        this.factory = factory;
+        this.interceptor = new MetricsOSSInterceptor(metrics);
+    }
+
+    public AliyunOSSMetrics getMetrics() {
+        return interceptor.getMetrics();
+    }
+
+    @Override
+    public OSS apply(AliyunOSSUri uri) {
+        return InterceptingOSSProxy.newProxy(factory.apply(uri), interceptor);
+    }
+}
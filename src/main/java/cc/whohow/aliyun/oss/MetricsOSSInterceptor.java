@@ -0,0 +1,116 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.ServiceException;
+import com.aliyun.oss.model.*;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 统计拦截器，按操作（方法名）及Bucket记录请求延迟、错误数、上下行字节数
+ */
+public class MetricsOSSInterceptor implements OSSInterceptor {
+    private final AliyunOSSMetrics metrics;
+
+    public MetricsOSSInterceptor(AliyunOSSMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public AliyunOSSMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Object intercept(OSSInvocation invocation) throws Throwable {
+        String operation = invocation.getOperation();
+        String bucketName = invocation.getBucketName();
+        long timestamp = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            metrics.record(operation, bucketName, System.nanoTime() - timestamp, getErrorCode(e), 0);
+            throw e;
+        }
+        metrics.record(operation, bucketName, System.nanoTime() - timestamp, null, getBytesOut(invocation.getArguments()));
+        if (result instanceof OSSObject) {
+            OSSObject object = (OSSObject) result;
+            object.setObjectContent(new CountingInputStream(object.getObjectContent(), operation, bucketName));
+        } else if (result instanceof ObjectMetadata && operation.equals("getObject")) {
+            // 下载到文件
+            metrics.recordBytesIn(operation, bucketName, ((ObjectMetadata) result).getContentLength());
+        }
+        return result;
+    }
+
+    private static long getBytesOut(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof File) {
+                return ((File) arg).length();
+            }
+            if (arg instanceof UploadPartRequest) {
+                return ((UploadPartRequest) arg).getPartSize();
+            }
+            if (arg instanceof PutObjectRequest) {
+                PutObjectRequest request = (PutObjectRequest) arg;
+                if (request.getFile() != null) {
+                    return request.getFile().length();
+                }
+                return getContentLength(request.getMetadata());
+            }
+            if (arg instanceof ObjectMetadata) {
+                return getContentLength((ObjectMetadata) arg);
+            }
+        }
+        return 0;
+    }
+
+    private static long getContentLength(ObjectMetadata objectMetadata) {
+        if (objectMetadata == null || !objectMetadata.getRawMetadata().containsKey("Content-Length")) {
+            return 0;
+        }
+        return objectMetadata.getContentLength();
+    }
+
+    private static String getErrorCode(Throwable e) {
+        String errorCode = null;
+        if (e instanceof ServiceException) {
+            errorCode = ((ServiceException) e).getErrorCode();
+        } else if (e instanceof ClientException) {
+            errorCode = ((ClientException) e).getErrorCode();
+        }
+        return errorCode == null ? e.getClass().getSimpleName() : errorCode;
+    }
+
+    private class CountingInputStream extends FilterInputStream {
+        private final String operation;
+        private final String bucketName;
+
+        CountingInputStream(InputStream in, String operation, String bucketName) {
+            super(in);
+            this.operation = operation;
+            this.bucketName = bucketName;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                metrics.recordBytesIn(operation, bucketName, 1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                metrics.recordBytesIn(operation, bucketName, n);
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package cc.whohow.aliyun.oss;
+
+/**
+ * OSS调用拦截器，通过invocation.proceed()调用下一个拦截器或目标客户端，可多次调用以重试
+ */
+@FunctionalInterface
+public interface OSSInterceptor {
+    Object intercept(OSSInvocation invocation) throws Throwable;
+}
@@ -0,0 +1,125 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.CopyObjectRequest;
+import com.aliyun.oss.model.GenericRequest;
+import com.aliyun.oss.model.UploadPartCopyRequest;
+
+import java.lang.reflect.Method;
+
+/**
+ * 一次OSS调用
+ */
+public final class OSSInvocation {
+    private final InterceptingOSSProxy.Operation operation;
+    private final Object[] arguments;
+    private final OSSInterceptor[] interceptors;
+    private int index;
+
+    OSSInvocation(InterceptingOSSProxy.Operation operation, Object[] arguments, OSSInterceptor[] interceptors) {
+        this.operation = operation;
+        this.arguments = arguments;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * 操作名（OSS接口方法名）
+     */
+    public String getOperation() {
+        return operation.name;
+    }
+
+    public Method getMethod() {
+        return operation.method;
+    }
+
+    public Object[] getArguments() {
+        return arguments;
+    }
+
+    public OSS getTarget() {
+        return operation.target;
+    }
+
+    /**
+     * 请求的Bucket（复制为目标Bucket），无法识别时为空字符串
+     */
+    public String getBucketName() {
+        if (isCopyObject()) {
+            return (String) arguments[2];
+        }
+        if (arguments.length == 0) {
+            return "";
+        }
+        Object arg = arguments[0];
+        if (arg instanceof String) {
+            return (String) arg;
+        }
+        if (arg instanceof GenericRequest) {
+            return ((GenericRequest) arg).getBucketName();
+        }
+        if (arg instanceof CopyObjectRequest) {
+            return ((CopyObjectRequest) arg).getDestinationBucketName();
+        }
+        if (arg instanceof UploadPartCopyRequest) {
+            return ((UploadPartCopyRequest) arg).getBucketName();
+        }
+        return "";
+    }
+
+    /**
+     * 请求的Key（复制为目标Key），无法识别时为null
+     */
+    public String getKey() {
+        if (isCopyObject()) {
+            return (String) arguments[3];
+        }
+        if (arguments.length >= 2 && arguments[0] instanceof String && arguments[1] instanceof String) {
+            return (String) arguments[1];
+        }
+        if (arguments.length == 0) {
+            return null;
+        }
+        Object arg = arguments[0];
+        if (arg instanceof GenericRequest) {
+            return ((GenericRequest) arg).getKey();
+        }
+        if (arg instanceof CopyObjectRequest) {
+            return ((CopyObjectRequest) arg).getDestinationKey();
+        }
+        if (arg instanceof UploadPartCopyRequest) {
+            return ((UploadPartCopyRequest) arg).getKey();
+        }
+        return null;
+    }
+
+    /**
+     * copyObject(sourceBucketName, sourceKey, destinationBucketName, destinationKey)，前两个参数为源对象
+     */
+    private boolean isCopyObject() {
+        return "copyObject".equals(operation.name) && arguments.length == 4;
+    }
+
+    /**
+     * 调用下一个拦截器，最后一个拦截器之后调用目标客户端
+     * <p>
+     * 返回时恢复位置，同一拦截器可多次调用（如重试），每次都重新经过后续拦截器；须在调用线程内同步调用
+     */
+    public Object proceed() throws Throwable {
+        int current = index;
+        if (current < interceptors.length) {
+            index = current + 1;
+            try {
+                return interceptors[current].intercept(this);
+            } finally {
+                index = current;
+            }
+        }
+        return operation.handle.invokeExact(arguments);
+    }
+
+    @Override
+    public String toString() {
+        return operation.name;
+    }
+}
@@ -1,12 +1,18 @@
 package cc.whohow.aliyun.oss;
 
+import java.util.concurrent.Executor;
+
 public class SimpleAliyunOSSObject extends AliyunOSSObject implements AutoCloseable {
     public SimpleAliyunOSSObject(String uri) {
         this(new AliyunOSSUri(uri));
     }
 
     public SimpleAliyunOSSObject(AliyunOSSUri uri) {
-        super(new AliyunOSSFactory().apply(uri), uri.getBucketName(), uri.getKey());
+        this(uri, DIRECT_EXECUTOR);
+    }
+
+    public SimpleAliyunOSSObject(AliyunOSSUri uri, Executor executor) {
+        super(new AliyunOSSFactory().apply(uri), uri.getBucketName(), uri.getKey(), executor);
     }
 
     @Override
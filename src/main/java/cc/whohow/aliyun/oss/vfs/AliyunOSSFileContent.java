@@ -1,5 +1,7 @@
 package cc.whohow.aliyun.oss.vfs;
 
+import cc.whohow.aliyun.oss.AliyunOSSBufferPool;
+import cc.whohow.aliyun.oss.AliyunOSSMetadataEditor;
 import cc.whohow.aliyun.oss.AliyunOSSObjectMetadata;
 import cc.whohow.vfs.SimpleFileContent;
 import cc.whohow.vfs.StatelessFileContent;
@@ -23,6 +25,7 @@ import java.util.Map;
  */
 public class AliyunOSSFileContent implements SimpleFileContent, StatelessFileContent {
     protected final AliyunOSSFileObject file;
+    private ObjectMetadata objectMetadata;
 
     public AliyunOSSFileContent(AliyunOSSFileObject file) {
         this.file = file;
@@ -33,26 +36,38 @@ public class AliyunOSSFileContent implements SimpleFileContent, StatelessFileCon
         return file;
     }
 
+    /**
+     * 元数据快照，首次使用时加载，此后大小、时间、类型、属性等读取共用；修改属性后重新加载
+     */
+    protected synchronized ObjectMetadata getObjectMetadata() {
+        if (objectMetadata == null) {
+            objectMetadata = file.getObjectMetadata();
+        }
+        return objectMetadata;
+    }
+
+    protected synchronized void resetObjectMetadata() {
+        objectMetadata = null;
+    }
+
     @Override
     public long getSize() {
-        return file.getSimplifiedObjectMeta().getSize();
+        return getObjectMetadata().getContentLength();
     }
 
     @Override
     public long getLastModifiedTime() {
-        return file.getSimplifiedObjectMeta().getLastModified().getTime();
+        return getObjectMetadata().getLastModified().getTime();
     }
 
     @Override
     public void setLastModifiedTime(long modTime) {
-        ObjectMetadata objectMetadata = file.getObjectMetadata();
-        objectMetadata.setLastModified(new Date(modTime));
-        file.setObjectMetadata(objectMetadata);
+        setAttributes(new AliyunOSSMetadataEditor().setLastModified(new Date(modTime)));
     }
 
     @Override
     public Map<String, Object> getAttributes() {
-        ObjectMetadata objectMetadata = file.getObjectMetadata();
+        ObjectMetadata objectMetadata = getObjectMetadata();
         Map<String, Object> attributes = new LinkedHashMap<>();
         attributes.putAll(objectMetadata.getRawMetadata());
         attributes.putAll(objectMetadata.getUserMetadata());
@@ -61,61 +76,96 @@ public class AliyunOSSFileContent implements SimpleFileContent, StatelessFileCon
 
     @Override
     public boolean hasAttribute(String attrName) {
-        return getAttributes().containsKey(AliyunOSSObjectMetadata.normalizeName(attrName));
+        attrName = AliyunOSSObjectMetadata.normalizeName(attrName);
+        ObjectMetadata objectMetadata = getObjectMetadata();
+        return objectMetadata.getUserMetadata().containsKey(attrName) ||
+                objectMetadata.getRawMetadata().containsKey(attrName);
     }
 
     @Override
     public Object getAttribute(String attrName) throws FileSystemException {
-        return getAttributes().get(AliyunOSSObjectMetadata.normalizeName(attrName));
+        attrName = AliyunOSSObjectMetadata.normalizeName(attrName);
+        ObjectMetadata objectMetadata = getObjectMetadata();
+        // 与getAttributes一致，用户属性优先
+        Object value = objectMetadata.getUserMetadata().get(attrName);
+        if (value == null) {
+            value = objectMetadata.getRawMetadata().get(attrName);
+        }
+        return value;
     }
 
     @Override
     public void setAttribute(String attrName, Object value) {
-        attrName = AliyunOSSObjectMetadata.normalizeName(attrName);
-        ObjectMetadata objectMetadata = file.getObjectMetadata();
-        if (AliyunOSSObjectMetadata.isRawMetaData(attrName)) {
-            objectMetadata.setHeader(attrName, value);
-        } else {
-            objectMetadata.addUserMetadata(attrName, String.valueOf(value));
-        }
-        file.setObjectMetadata(objectMetadata);
+        setAttributes(new AliyunOSSMetadataEditor().set(attrName, value));
     }
 
     @Override
     public void removeAttribute(String attrName) {
-        attrName = AliyunOSSObjectMetadata.normalizeName(attrName);
-        ObjectMetadata objectMetadata = file.getObjectMetadata();
-        if (AliyunOSSObjectMetadata.isRawMetaData(attrName)) {
-            objectMetadata.setHeader(attrName, null);
-        } else {
-            objectMetadata.getUserMetadata().remove(attrName);
-        }
-        file.setObjectMetadata(objectMetadata);
+        setAttributes(new AliyunOSSMetadataEditor().remove(attrName));
     }
 
+    /**
+     * 批量修改属性（值为null时删除），一次复制提交
+     */
+    public void setAttributes(Map<String, ?> attributes) {
+        setAttributes(new AliyunOSSMetadataEditor().setAll(attributes));
+    }
+
+    /**
+     * 批量修改属性，基于元数据快照一次复制提交，无需另行读取属性
+     */
+    public void setAttributes(AliyunOSSMetadataEditor editor) {
+        if (editor.isEmpty()) {
+            return;
+        }
+        try {
+            file.setObjectMetadata(editor, getObjectMetadata());
+        } finally {
+            resetObjectMetadata();
+        }
+    }
 
     @Override
     public InputStream getInputStream() {
         return file.getObjectContent();
     }
 
+    /**
+     * 并行预读输入流，适合大文件顺序读取
+     *
+     * @param partSize 每个范围请求的大小
+     * @param prefetch 同时进行的范围请求数
+     */
+    public InputStream getInputStream(int partSize, int prefetch) {
+        ObjectMetadata objectMetadata = getObjectMetadata();
+        return file.getObjectContent(new AliyunOSSBufferPool(partSize, prefetch + 1), prefetch,
+                objectMetadata.getETag(), objectMetadata.getContentLength());
+    }
+
     @Override
     public RandomAccessContent getRandomAccessContent(RandomAccessMode mode) throws FileSystemException {
-        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+        if (mode.requestWrite()) {
+            throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+        }
+        ObjectMetadata objectMetadata = getObjectMetadata();
+        return new AliyunOSSRandomAccessContent(file, objectMetadata.getETag(), objectMetadata.getContentLength());
     }
 
     @Override
     public OutputStream getOutputStream(boolean bAppend) {
+        resetObjectMetadata();
         if (bAppend) {
-            return file.appendObject(getSize());
+            // 追加位置必须是当前长度，不能取自元数据缓存
+            long position = file.getOSS().getSimplifiedObjectMeta(file.getBucketName(), file.getKey()).getSize();
+            return file.appendObject(position);
         } else {
-            return file.appendObject();
+            return file.uploadObject();
         }
     }
 
     @Override
     public FileContentInfo getContentInfo() {
-        ObjectMetadata objectMetadata = file.getObjectMetadata();
+        ObjectMetadata objectMetadata = getObjectMetadata();
         return new DefaultFileContentInfo(objectMetadata.getContentType(), objectMetadata.getContentEncoding());
     }
 
@@ -1,6 +1,10 @@
 package cc.whohow.aliyun.oss.vfs;
 
+import cc.whohow.aliyun.oss.AliyunOSSContentCache;
 import cc.whohow.aliyun.oss.AliyunOSSObject;
+import cc.whohow.aliyun.oss.AliyunOSSObjectListingIterator;
+import cc.whohow.aliyun.oss.AliyunOSSObjectListingPrefetchIterator;
+import cc.whohow.aliyun.oss.AliyunOSSTasks;
 import cc.whohow.vfs.*;
 import cc.whohow.vfs.operations.ProviderFileOperations;
 import cc.whohow.vfs.path.PathParser;
@@ -10,8 +14,10 @@ import cc.whohow.vfs.tree.FileObjectFindTree;
 import cc.whohow.vfs.tree.TreeBreadthFirstIterator;
 import cc.whohow.vfs.tree.TreePostOrderIterator;
 import com.aliyun.oss.model.ObjectMetadata;
+import com.aliyun.oss.model.SimplifiedObjectMeta;
 import org.apache.commons.vfs2.*;
 import org.apache.commons.vfs2.operations.FileOperations;
+import org.apache.http.impl.client.CloseableHttpClient;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -20,6 +26,7 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -206,11 +213,16 @@ public class AliyunOSSFileObject extends AliyunOSSObject
             // 删除所有
             return deleteObjectsRecursively();
         } else {
-            // 查找并删除
-            return (int) find(selector)
-                    .filter(FileObjectFns::isFile)
-                    .peek(FileObjectFns::deleteAllQuietly)
-                    .count();
+            // 查找并批量删除
+            try (Stream<FileObject> stream = find(selector)) {
+                Iterator<String> keys = stream
+                        .filter(FileObjectFns::isFile)
+                        .map(f -> ((AliyunOSSFileObject) f).getKey())
+                        .iterator();
+                return (int) deleteObjects(keys, AliyunOSSTasks.DEFAULT_PARALLELISM, 0)
+                        .throwIfFailed()
+                        .getCount();
+            }
         }
     }
 
@@ -426,9 +438,48 @@ public class AliyunOSSFileObject extends AliyunOSSObject
         }
     }
 
+    /**
+     * 读取文件属性，经文件系统元数据缓存
+     */
+    @Override
+    public ObjectMetadata getObjectMetadata() {
+        return fileSystem.getMetadataCache().get(key, k -> super.getObjectMetadata());
+    }
+
+    /**
+     * 读取文件属性，启用元数据缓存时由完整元数据得出，避免另发请求
+     */
+    @Override
+    public SimplifiedObjectMeta getSimplifiedObjectMeta() {
+        if (!fileSystem.getMetadataCache().isEnabled()) {
+            return super.getSimplifiedObjectMeta();
+        }
+        ObjectMetadata objectMetadata = getObjectMetadata();
+        SimplifiedObjectMeta simplifiedObjectMeta = new SimplifiedObjectMeta();
+        simplifiedObjectMeta.setSize(objectMetadata.getContentLength());
+        simplifiedObjectMeta.setETag(objectMetadata.getETag());
+        simplifiedObjectMeta.setLastModified(objectMetadata.getLastModified());
+        return simplifiedObjectMeta;
+    }
+
+    @Override
+    public Executor getExecutor() {
+        return fileSystem.getFileProvider().getExecutor();
+    }
+
+    @Override
+    protected AliyunOSSObjectListingIterator newObjectListingIterator(String bucketName, String prefix, String delimiter) {
+        return new AliyunOSSObjectListingPrefetchIterator(oss, bucketName, prefix, delimiter, getExecutor());
+    }
+
+    @Override
+    public AliyunOSSContentCache getContentCache() {
+        return fileSystem.getFileProvider().getContentCache();
+    }
+
     @Override
-    public String putObject(URL url, ObjectMetadata objectMetadata) {
-        return putObject(fileSystem.getFileProvider().getHttpClient(), url, objectMetadata);
+    public CloseableHttpClient getHttpClient() {
+        return fileSystem.getFileProvider().getHttpClient();
     }
 
     @Override
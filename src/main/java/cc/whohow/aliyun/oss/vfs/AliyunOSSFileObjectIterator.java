@@ -29,8 +29,7 @@ public class AliyunOSSFileObjectIterator implements Iterator<FileObject> {
             boolean listFile,
             boolean listFolder) {
         this.baseFolder = baseFolder;
-        this.iterator = new AliyunOSSObjectListingIterator(
-                baseFolder.getOSS(), baseFolder.getBucketName(), baseFolder.getKey(), recursively ? null : "/");
+        this.iterator = recursively ? baseFolder.listObjectsRecursively() : baseFolder.listObjects();
         this.listFile = listFile;
         this.listFolder = listFolder;
         this.commonPrefixIterator = Collections.emptyIterator();
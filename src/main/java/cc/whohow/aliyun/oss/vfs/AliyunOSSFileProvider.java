@@ -22,19 +22,23 @@ import org.apache.commons.vfs2.operations.FileOperationProvider;
 import org.apache.commons.vfs2.provider.AbstractVfsComponent;
 import org.apache.commons.vfs2.provider.FileProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.impl.client.LaxRedirectStrategy;
 
 import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 public class AliyunOSSFileProvider extends AbstractVfsComponent implements FileProvider {
+    private static final int OSS_POOL_MAX_SIZE = 64;
+    private static final Duration OSS_POOL_MAX_IDLE_TIME = Duration.ofMinutes(10);
     private static final Set<Capability> CAPABILITIES = Collections.unmodifiableSet(EnumSet.of(
             Capability.READ_CONTENT,
+            Capability.RANDOM_ACCESS_READ,
             Capability.WRITE_CONTENT,
             Capability.APPEND_CONTENT,
             Capability.ATTRIBUTES,
@@ -48,11 +52,14 @@ public class AliyunOSSFileProvider extends AbstractVfsComponent implements FileP
             Capability.LIST_CHILDREN,
             Capability.URI));
     protected final Map<String, AliyunOSSFileSystem> fileSystems = new ConcurrentHashMap<>();
+    protected final List<AliyunOSSPool.Lease> leases = new CopyOnWriteArrayList<>();
     protected ClientConfiguration clientConfiguration;
     protected ScheduledExecutorService executor;
     protected CloseableHttpClient httpClient;
     protected FileWatchMonitor fileWatchMonitor;
     protected AliyunOSSPool ossFactory;
+    protected AliyunOSSMetrics metrics;
+    protected AliyunOSSContentCache contentCache;
     protected AliyunOSSUriFactory uriFactory;
 
     @Override
@@ -63,17 +70,26 @@ public class AliyunOSSFileProvider extends AbstractVfsComponent implements FileP
 
         clientConfiguration = new ClientConfiguration();
         executor = Executors.newScheduledThreadPool(8);
-        httpClient = HttpClientBuilder.create()
-                .setMaxConnPerRoute(1024)
-                .setMaxConnTotal(1024)
-                .setRedirectStrategy(LaxRedirectStrategy.INSTANCE)
-                .build();
+        httpClient = AliyunOSSHttpClients.create(1024, 1024);
         fileWatchMonitor = new FileWatchMonitor(executor);
-        ossFactory = new AliyunOSSPool(new LoggingOSSFactory(new AliyunOSSFactory(clientConfiguration)));
+        metrics = new AliyunOSSMetrics();
+        List<OSSInterceptor> interceptors = new ArrayList<>();
+        interceptors.add(new MetricsOSSInterceptor(metrics));
+        interceptors.add(new LoggingOSSInterceptor());
+        if (c.getContentCacheDirectory() != null && c.getContentCacheSize() > 0) {
+            long maxObjectSize = c.getContentCacheMaxObjectSize() > 0 ?
+                    c.getContentCacheMaxObjectSize() : Math.max(1, c.getContentCacheSize() / 8);
+            contentCache = new AliyunOSSContentCache(Paths.get(c.getContentCacheDirectory()),
+                    c.getContentCacheSize(), maxObjectSize, Duration.ofMillis(c.getContentCacheRevalidateAfter()));
+            // 经本提供者客户端的写操作失效内容缓存
+            interceptors.add(contentCache);
+        }
+        ossFactory = new AliyunOSSPool(new AliyunOSSFactory(clientConfiguration, interceptors),
+                OSS_POOL_MAX_SIZE, OSS_POOL_MAX_IDLE_TIME, executor);
         uriFactory = new AliyunOSSUriFactory(this::getBucket);
 
         for (AliyunOSSProviderConfiguration.Profile profile : c.getProfiles()) {
-            createFileSystem(profile);
+            createFileSystem(profile, c);
         }
 
         if (c.getCnames() != null) {
@@ -122,13 +138,16 @@ public class AliyunOSSFileProvider extends AbstractVfsComponent implements FileP
             httpClient.close();
         } catch (Exception ignore) {
         }
+        leases.forEach(AliyunOSSPool.Lease::close);
+        leases.clear();
         try {
             ossFactory.close();
         } catch (Exception ignore) {
         }
     }
 
-    private void createFileSystem(AliyunOSSProviderConfiguration.Profile profile) throws FileSystemException {
+    private void createFileSystem(AliyunOSSProviderConfiguration.Profile profile,
+                                  AliyunOSSProviderConfiguration c) throws FileSystemException {
         IClientProfile clientProfile = DefaultProfile.getProfile(null, profile.getAccessKeyId(), profile.getSecretAccessKey());
         CredentialsProvider credentialsProvider = new DefaultCredentialProvider(profile.getAccessKeyId(), profile.getSecretAccessKey());
         OSS oss = new OSSClient(AliyunOSSEndpoints.getDefaultEndpoint(), credentialsProvider, clientConfiguration);
@@ -143,10 +162,12 @@ public class AliyunOSSFileProvider extends AbstractVfsComponent implements FileP
                         null);
                 AliyunOSSFileSystem fileSystem = new AliyunOSSFileSystem(
                         this,
-                        getOSS(uri),
+                        leaseOSS(uri),
                         bucket,
                         clientProfile,
-                        accountAlias);
+                        accountAlias,
+                        new AliyunOSSMetadataCache(bucket.getName(),
+                                c.getMetadataCacheSize(), Duration.ofMillis(c.getMetadataCacheTtl())));
                 fileSystem.setLogger(getLogger());
                 fileSystem.setContext(getContext());
                 fileSystem.init();
@@ -211,6 +232,17 @@ public class AliyunOSSFileProvider extends AbstractVfsComponent implements FileP
         return httpClient;
     }
 
+    public AliyunOSSMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * 内容磁盘缓存，未配置时为null
+     */
+    public AliyunOSSContentCache getContentCache() {
+        return contentCache;
+    }
+
     public FileWatchMonitor getFileWatchMonitor() {
         return fileWatchMonitor;
     }
@@ -219,14 +251,12 @@ public class AliyunOSSFileProvider extends AbstractVfsComponent implements FileP
         return uriFactory;
     }
 
+    /**
+     * 获取客户端：带密钥的地址获取的客户端常驻直到提供者关闭；临时使用（如轮换的临时密钥）改用lease，用完归还后可被淘汰
+     */
     public OSS getOSS(AliyunOSSUri uri) {
         if (uri.getAccessKeyId() != null && uri.getSecretAccessKey() != null && uri.getEndpoint() != null) {
-            return ossFactory.apply(new AliyunOSSUri(
-                    uri.getAccessKeyId(),
-                    uri.getSecretAccessKey(),
-                    null,
-                    AliyunOSSEndpoints.getEndpoint(uri.getEndpoint()),
-                    null));
+            return ossFactory.apply(getClientUri(uri));
         }
         AliyunOSSFileSystem fileSystem = getFileSystem(uri);
         if (fileSystem != null) {
@@ -234,4 +264,32 @@ public class AliyunOSSFileProvider extends AbstractVfsComponent implements FileP
         }
         throw new IllegalArgumentException(uri.toString());
     }
+
+    /**
+     * 借用带密钥地址的客户端，使用完毕后必须关闭Lease
+     */
+    public AliyunOSSPool.Lease lease(AliyunOSSUri uri) {
+        return ossFactory.lease(getClientUri(uri));
+    }
+
+    /**
+     * 文件系统持有的客户端，提供者关闭时归还
+     */
+    private OSS leaseOSS(AliyunOSSUri uri) {
+        AliyunOSSPool.Lease lease = lease(uri);
+        leases.add(lease);
+        return lease.get();
+    }
+
+    /**
+     * 同一地区、同一密钥共享客户端
+     */
+    private static AliyunOSSUri getClientUri(AliyunOSSUri uri) {
+        return new AliyunOSSUri(
+                uri.getAccessKeyId(),
+                uri.getSecretAccessKey(),
+                null,
+                AliyunOSSEndpoints.getExtranetEndpoint(uri.getEndpoint()),
+                null);
+    }
 }
@@ -1,5 +1,7 @@
 package cc.whohow.aliyun.oss.vfs;
 
+import cc.whohow.aliyun.oss.AliyunOSSMetadataCache;
+import cc.whohow.aliyun.oss.InterceptingOSSProxy;
 import com.aliyun.oss.OSS;
 import com.aliyun.oss.model.Bucket;
 import com.aliyuncs.profile.IClientProfile;
@@ -16,6 +18,7 @@ public class AliyunOSSFileSystem extends AbstractVfsComponent implements FileSys
     private final Bucket bucket;
     private final IClientProfile profile;
     private final String accountAlias;
+    private final AliyunOSSMetadataCache metadataCache;
     private final Map<String, Object> attributes = new ConcurrentHashMap<>();
 
     public AliyunOSSFileSystem(AliyunOSSFileProvider fileProvider,
@@ -23,11 +26,24 @@ public class AliyunOSSFileSystem extends AbstractVfsComponent implements FileSys
                                Bucket bucket,
                                IClientProfile profile,
                                String accountAlias) {
+        this(fileProvider, oss, bucket, profile, accountAlias, AliyunOSSMetadataCache.disabled(bucket.getName()));
+    }
+
+    /**
+     * @param metadataCache 元数据缓存，经本文件系统客户端的写操作自动失效缓存
+     */
+    public AliyunOSSFileSystem(AliyunOSSFileProvider fileProvider,
+                               OSS oss,
+                               Bucket bucket,
+                               IClientProfile profile,
+                               String accountAlias,
+                               AliyunOSSMetadataCache metadataCache) {
         this.fileProvider = fileProvider;
-        this.oss = oss;
+        this.oss = metadataCache.isEnabled() ? InterceptingOSSProxy.newProxy(oss, metadataCache) : oss;
         this.bucket = bucket;
         this.profile = profile;
         this.accountAlias = accountAlias;
+        this.metadataCache = metadataCache;
     }
 
     public AliyunOSSFileProvider getFileProvider() {
@@ -42,6 +58,10 @@ public class AliyunOSSFileSystem extends AbstractVfsComponent implements FileSys
         return bucket;
     }
 
+    public AliyunOSSMetadataCache getMetadataCache() {
+        return metadataCache;
+    }
+
     public IClientProfile getProfile() {
         return profile;
     }
@@ -7,6 +7,30 @@ import java.util.List;
 public class AliyunOSSProviderConfiguration extends ProviderConfiguration {
     private List<Profile> profiles;
     private List<Cname> cnames;
+    /**
+     * 每个Bucket的元数据缓存对象数，0为不缓存
+     */
+    private int metadataCacheSize;
+    /**
+     * 元数据缓存有效期（毫秒）
+     */
+    private long metadataCacheTtl;
+    /**
+     * 内容磁盘缓存目录，为空时不缓存
+     */
+    private String contentCacheDirectory;
+    /**
+     * 内容磁盘缓存总大小（字节）
+     */
+    private long contentCacheSize;
+    /**
+     * 内容缓存单个对象大小上限（字节），超过的对象不缓存；0为总大小的1/8
+     */
+    private long contentCacheMaxObjectSize;
+    /**
+     * 内容缓存校验间隔（毫秒），0为每次读取都校验
+     */
+    private long contentCacheRevalidateAfter;
 
     public List<Profile> getProfiles() {
         return profiles;
@@ -24,6 +48,54 @@ public class AliyunOSSProviderConfiguration extends ProviderConfiguration {
         this.cnames = cnames;
     }
 
+    public int getMetadataCacheSize() {
+        return metadataCacheSize;
+    }
+
+    public void setMetadataCacheSize(int metadataCacheSize) {
+        this.metadataCacheSize = metadataCacheSize;
+    }
+
+    public long getMetadataCacheTtl() {
+        return metadataCacheTtl;
+    }
+
+    public void setMetadataCacheTtl(long metadataCacheTtl) {
+        this.metadataCacheTtl = metadataCacheTtl;
+    }
+
+    public String getContentCacheDirectory() {
+        return contentCacheDirectory;
+    }
+
+    public void setContentCacheDirectory(String contentCacheDirectory) {
+        this.contentCacheDirectory = contentCacheDirectory;
+    }
+
+    public long getContentCacheSize() {
+        return contentCacheSize;
+    }
+
+    public void setContentCacheSize(long contentCacheSize) {
+        this.contentCacheSize = contentCacheSize;
+    }
+
+    public long getContentCacheMaxObjectSize() {
+        return contentCacheMaxObjectSize;
+    }
+
+    public void setContentCacheMaxObjectSize(long contentCacheMaxObjectSize) {
+        this.contentCacheMaxObjectSize = contentCacheMaxObjectSize;
+    }
+
+    public long getContentCacheRevalidateAfter() {
+        return contentCacheRevalidateAfter;
+    }
+
+    public void setContentCacheRevalidateAfter(long contentCacheRevalidateAfter) {
+        this.contentCacheRevalidateAfter = contentCacheRevalidateAfter;
+    }
+
     static class Profile {
         private String accessKeyId;
         private String secretAccessKey;
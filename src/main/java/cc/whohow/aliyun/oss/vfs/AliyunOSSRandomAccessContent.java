@@ -0,0 +1,382 @@
+package cc.whohow.aliyun.oss.vfs;
+
+import cc.whohow.aliyun.oss.AliyunOSSObject;
+import com.aliyun.oss.ClientException;
+import com.aliyun.oss.OSSException;
+import com.aliyun.oss.model.GetObjectRequest;
+import com.aliyun.oss.model.OSSObject;
+import org.apache.commons.vfs2.FileSystemException;
+import org.apache.commons.vfs2.RandomAccessContent;
+
+import java.io.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 只读随机访问，按固定大小分块范围读取并缓存（LRU淘汰）
+ * <p>
+ * 连续顺序读取时预读后续多个块（一次范围请求），预读块数逐次翻倍直到上限；
+ * 所有范围请求以If-Match固定到打开时的ETag，期间对象被覆盖时读取失败，不会读到新旧混合内容。
+ */
+public class AliyunOSSRandomAccessContent implements RandomAccessContent, Closeable {
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    public static final int DEFAULT_MAX_BLOCKS = 256;
+    public static final int DEFAULT_MAX_READ_AHEAD = 32;
+
+    private final AliyunOSSObject object;
+    private final String eTag;
+    private final long length;
+    private final int blockSize;
+    private final int maxReadAhead;
+    private final Map<Long, byte[]> blocks;
+    private final InputStream inputStream = new RandomAccessInputStream();
+    private final DataInputStream dataInputStream = new DataInputStream(inputStream);
+    private long pointer;
+    private long lastBlock = -1;
+    private int readAhead = 1;
+    private boolean closed;
+
+    public AliyunOSSRandomAccessContent(AliyunOSSObject object, String eTag, long length) {
+        this(object, eTag, length, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_BLOCKS, DEFAULT_MAX_READ_AHEAD);
+    }
+
+    /**
+     * @param blockSize    块大小
+     * @param maxBlocks    缓存块数上限
+     * @param maxReadAhead 顺序读取时一次预读块数上限
+     */
+    public AliyunOSSRandomAccessContent(AliyunOSSObject object, String eTag, long length,
+                                        int blockSize, int maxBlocks, int maxReadAhead) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize: " + blockSize);
+        }
+        if (maxReadAhead <= 0 || maxReadAhead > maxBlocks) {
+            throw new IllegalArgumentException("maxReadAhead: " + maxReadAhead);
+        }
+        this.object = object;
+        this.eTag = eTag;
+        this.length = length;
+        this.blockSize = blockSize;
+        this.maxReadAhead = maxReadAhead;
+        this.blocks = new LinkedHashMap<Long, byte[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, byte[]> eldest) {
+                return size() > maxBlocks;
+            }
+        };
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    @Override
+    public synchronized long getFilePointer() throws IOException {
+        checkOpen();
+        return pointer;
+    }
+
+    @Override
+    public synchronized void seek(long pos) throws IOException {
+        checkOpen();
+        if (pos < 0) {
+            throw new IOException("Negative seek offset: " + pos);
+        }
+        pointer = pos;
+    }
+
+    @Override
+    public long length() throws IOException {
+        checkOpen();
+        return length;
+    }
+
+    /**
+     * 从当前位置读取，并移动当前位置
+     */
+    @Override
+    public InputStream getInputStream() throws IOException {
+        checkOpen();
+        return inputStream;
+    }
+
+    @Override
+    public void setLength(long newLength) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        blocks.clear();
+    }
+
+    public synchronized int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) < 0 ? -1 : (b[0] & 0xff);
+    }
+
+    public synchronized int read(byte[] b, int off, int len) throws IOException {
+        checkOpen();
+        if (len == 0) {
+            return 0;
+        }
+        if (pointer >= length) {
+            return -1;
+        }
+        int n = 0;
+        while (n < len && pointer < length) {
+            long index = pointer / blockSize;
+            byte[] block = getBlock(index);
+            int offset = (int) (pointer - index * blockSize);
+            int count = Math.min(len - n, block.length - offset);
+            System.arraycopy(block, offset, b, off + n, count);
+            n += count;
+            pointer += count;
+        }
+        return n;
+    }
+
+    private byte[] getBlock(long index) throws IOException {
+        byte[] block = blocks.get(index);
+        if (index == lastBlock + 1) {
+            // 顺序读取，预读块数翻倍
+            readAhead = Math.min(readAhead * 2, maxReadAhead);
+        } else if (index != lastBlock) {
+            readAhead = 1;
+        }
+        lastBlock = index;
+        if (block != null) {
+            return block;
+        }
+        long lastIndex = (length - 1) / blockSize;
+        long end = index;
+        while (end < lastIndex && end - index + 1 < readAhead && !blocks.containsKey(end + 1)) {
+            end++;
+        }
+        fetch(index, end);
+        return blocks.get(index);
+    }
+
+    /**
+     * 一次范围请求读取[first, last]块
+     */
+    private void fetch(long first, long last) throws IOException {
+        long begin = first * blockSize;
+        long end = Math.min((last + 1) * blockSize, length);
+        GetObjectRequest getObjectRequest = new GetObjectRequest(object.getBucketName(), object.getKey());
+        getObjectRequest.setRange(begin, end - 1);
+        getObjectRequest.setMatchingETagConstraints(Collections.singletonList(eTag));
+        try (OSSObject ossObject = object.getOSS().getObject(getObjectRequest);
+             InputStream stream = ossObject.getObjectContent()) {
+            for (long index = first; index <= last; index++) {
+                long blockBegin = index * blockSize;
+                byte[] block = new byte[(int) (Math.min(blockBegin + blockSize, length) - blockBegin)];
+                readFully(stream, block);
+                blocks.put(index, block);
+            }
+        } catch (OSSException | ClientException e) {
+            throw new IOException(object.getBucketName() + "/" + object.getKey() + " " + eTag, e);
+        }
+    }
+
+    private static void readFully(InputStream stream, byte[] buffer) throws IOException {
+        int n = 0;
+        while (n < buffer.length) {
+            int count = stream.read(buffer, n, buffer.length - n);
+            if (count < 0) {
+                throw new EOFException();
+            }
+            n += count;
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("closed");
+        }
+    }
+
+    @Override
+    public void readFully(byte[] b) throws IOException {
+        dataInputStream.readFully(b);
+    }
+
+    @Override
+    public void readFully(byte[] b, int off, int len) throws IOException {
+        dataInputStream.readFully(b, off, len);
+    }
+
+    @Override
+    public synchronized int skipBytes(int n) throws IOException {
+        checkOpen();
+        if (n <= 0) {
+            return 0;
+        }
+        int skipped = (int) Math.max(0, Math.min(n, length - pointer));
+        pointer += skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return dataInputStream.readBoolean();
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return dataInputStream.readByte();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return dataInputStream.readUnsignedByte();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return dataInputStream.readShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return dataInputStream.readUnsignedShort();
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return dataInputStream.readChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        return dataInputStream.readInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return dataInputStream.readLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return dataInputStream.readFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return dataInputStream.readDouble();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public String readLine() throws IOException {
+        return dataInputStream.readLine();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return dataInputStream.readUTF();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void write(byte[] b) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void writeBoolean(boolean v) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void writeByte(int v) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void writeShort(int v) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void writeChar(int v) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void writeInt(int v) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void writeLong(long v) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void writeFloat(float v) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void writeDouble(double v) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void writeBytes(String s) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void writeChars(String s) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    @Override
+    public void writeUTF(String s) throws IOException {
+        throw new FileSystemException("vfs.provider/random-access-not-supported.error");
+    }
+
+    private class RandomAccessInputStream extends InputStream {
+        @Override
+        public int read() throws IOException {
+            return AliyunOSSRandomAccessContent.this.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return AliyunOSSRandomAccessContent.this.read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            synchronized (AliyunOSSRandomAccessContent.this) {
+                checkOpen();
+                long skipped = Math.max(0, Math.min(n, length - pointer));
+                pointer += skipped;
+                return skipped;
+            }
+        }
+
+        @Override
+        public int available() throws IOException {
+            synchronized (AliyunOSSRandomAccessContent.this) {
+                checkOpen();
+                return (int) Math.min(Integer.MAX_VALUE, Math.max(0, length - pointer));
+            }
+        }
+    }
+}
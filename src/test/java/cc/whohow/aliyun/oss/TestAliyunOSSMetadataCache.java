@@ -0,0 +1,89 @@
+package cc.whohow.aliyun.oss;
+
+import com.aliyun.oss.OSS;
+import com.aliyun.oss.model.CopyObjectRequest;
+import com.aliyun.oss.model.ObjectMetadata;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 不访问OSS：目标客户端为空实现
+ */
+public class TestAliyunOSSMetadataCache {
+    private static OSS newOSS() {
+        return (OSS) Proxy.newProxyInstance(OSS.class.getClassLoader(), new Class<?>[]{OSS.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    return null;
+                });
+    }
+
+    @Test
+    public void testCopyObjectBucketAndKey() {
+        List<String> requests = new ArrayList<>();
+        OSS oss = InterceptingOSSProxy.newProxy(newOSS(), invocation -> {
+            requests.add(invocation.getBucketName() + "/" + invocation.getKey());
+            return invocation.proceed();
+        });
+        oss.copyObject("src-bucket", "src-key", "dst-bucket", "dst-key");
+        oss.copyObject(new CopyObjectRequest("src-bucket", "src-key", "dst-bucket", "dst-key"));
+        oss.deleteObject("bucket", "key");
+        Assert.assertEquals("dst-bucket/dst-key", requests.get(0));
+        Assert.assertEquals("dst-bucket/dst-key", requests.get(1));
+        Assert.assertEquals("bucket/key", requests.get(2));
+    }
+
+    @Test
+    public void testCopyableThroughCacheProxies() {
+        OSS oss = newOSS();
+        AliyunOSSObject a = new AliyunOSSObject(InterceptingOSSProxy.newProxy(oss,
+                new AliyunOSSMetadataCache("a", 16, Duration.ofMinutes(1))), "a", "key");
+        AliyunOSSObject b = new AliyunOSSObject(InterceptingOSSProxy.newProxy(oss,
+                new AliyunOSSMetadataCache("b", 16, Duration.ofMinutes(1))), "b", "key");
+        Assert.assertTrue(a.isCopyable(b));
+        Assert.assertFalse(a.isCopyable(new AliyunOSSObject(newOSS(), "b", "key")));
+    }
+
+    @Test
+    public void testCopyObjectInvalidatesDestination() {
+        AliyunOSSMetadataCache cache = new AliyunOSSMetadataCache("bucket", 16, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", key -> {
+            loads.incrementAndGet();
+            return new ObjectMetadata();
+        });
+        cache.get("b", key -> {
+            loads.incrementAndGet();
+            return new ObjectMetadata();
+        });
+        OSS oss = InterceptingOSSProxy.newProxy(newOSS(), cache);
+
+        // 从其他Bucket复制到b
+        oss.copyObject("other", "a", "bucket", "b");
+        Assert.assertEquals(1, cache.size());
+
+        cache.get("b", key -> {
+            loads.incrementAndGet();
+            return new ObjectMetadata();
+        });
+        // 同一Bucket内复制a到b，源对象a的缓存保留
+        oss.copyObject("bucket", "a", "bucket", "b");
+        Assert.assertEquals(1, cache.size());
+        cache.get("a", key -> {
+            loads.incrementAndGet();
+            return new ObjectMetadata();
+        });
+        Assert.assertEquals(3, loads.get());
+    }
+}
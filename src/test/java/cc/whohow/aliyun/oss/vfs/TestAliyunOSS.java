@@ -4,18 +4,28 @@ import cc.whohow.aliyun.oss.*;
 import com.aliyun.oss.common.utils.IOUtils;
 import com.aliyun.oss.model.OSSObject;
 import com.aliyun.oss.model.ObjectMetadata;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import javax.management.ObjectName;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -61,6 +71,27 @@ public class TestAliyunOSS {
         });
     }
 
+    @Test
+    public void testListObjectsRecursivelyPrefetch() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            new AliyunOSSObjectSummaryIterator(new AliyunOSSObjectFactory(ossFactory, executor)
+                    .apply("oss://yt-temp/test-kit/").listObjectsRecursively(4))
+                    .forEachRemaining(o -> {
+                        System.out.println(o.getETag() + " oss://" + o.getBucketName() + "/" + o.getKey());
+                    });
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testListObjectSummariesRecursivelyParallel() {
+        System.out.println(objectFactory.apply("oss://yt-temp/test-kit/")
+                .listObjectSummariesRecursively(8, true)
+                .count());
+    }
+
     @Test
     public void testPutObjectStream() throws Exception {
         try (InputStream stream = new FileInputStream(new File("pom.xml"))) {
@@ -80,6 +111,36 @@ public class TestAliyunOSS {
                 .putObject(new URL("https://picsum.photos/200/300/?random"));
     }
 
+    @Test
+    public void testPutObjectUrlRanged() throws Exception {
+        AliyunOSSObject object = objectFactory.apply("oss://yt-temp/test-kit/url/maven.zip");
+        try (CloseableHttpClient httpClient = HttpClients.createDefault()) {
+            String eTag = new AliyunOSSUrlUploader(httpClient,
+                    new URL("https://archive.apache.org/dist/maven/maven-3/3.6.0/binaries/apache-maven-3.6.0-bin.zip"),
+                    object.getOSS(), object.getBucketName(), object.getKey(), new ObjectMetadata(), Runnable::run)
+                    .setPartSize(1024 * 1024)
+                    .call();
+            System.out.println(eTag);
+        }
+    }
+
+    @Test
+    public void testPutObjectUrlAsync() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(objectFactory.apply("oss://yt-temp/test-kit/url/async" + i + ".jpg")
+                        .putObjectAsync(new URL("https://picsum.photos/200/300/?random"), new ObjectMetadata(), executor));
+            }
+            for (CompletableFuture<String> future : futures) {
+                System.out.println(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void testPutLargeObjectUrl() throws Exception {
         long t = System.currentTimeMillis();
@@ -134,6 +195,237 @@ public class TestAliyunOSS {
                 .copyFromObjectRecursively(objectFactory.apply("oss://yt-temp/test-kit/file/src/"));
     }
 
+    @Test
+    public void testCopyFromObjectRecursivelyParallel() throws Exception {
+        AliyunOSSBatchResult result = objectFactory.apply("oss://yt-temp/test-kit/copy/src/")
+                .copyFromObjectRecursively("yt-temp", "test-kit/file/src/", 16);
+        System.out.println(result);
+        System.out.println(result.getFailures());
+    }
+
+    @Test
+    public void testDeleteObjectsRecursivelyParallel() throws Exception {
+        AliyunOSSBatchResult result = objectFactory.apply("oss://yt-temp/test-kit/copy/src/")
+                .deleteObjectsRecursively(16, 10);
+        System.out.println(result);
+        System.out.println(result.getFailures());
+    }
+
+    @Test
+    public void testPutObjectRecursivelyParallel() throws Exception {
+        AliyunOSSBatchResult result = objectFactory.apply("oss://yt-temp/test-kit/upload/")
+                .putObjectRecursively(new File("src"), 16, AliyunOSSObject.MULTIPART_UPLOAD_THRESHOLD);
+        System.out.println(result);
+        System.out.println(result.getFailures());
+    }
+
+    @Test
+    public void testGetObjectRecursivelyParallel() throws Exception {
+        AliyunOSSBatchResult result = objectFactory.apply("oss://yt-temp/test-kit/upload/")
+                .getObjectRecursively(new File("target/download"), 16, AliyunOSSObject.RANGED_DOWNLOAD_THRESHOLD);
+        System.out.println(result);
+        System.out.println(result.getFailures());
+    }
+
+    @Test
+    public void testCopyFromObjectMultipart() throws Exception {
+        AliyunOSSObject source = objectFactory.apply("oss://yt-temp/test-kit/file/large.bin");
+        AliyunOSSObject target = objectFactory.apply("oss://yt-temp/test-kit/copy/large.bin");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            String eTag = new AliyunOSSObjectCopier(source.getOSS(), source.getBucketName(), source.getKey(),
+                    target.getBucketName(), target.getKey(), executor)
+                    .setMultipartThreshold(0)
+                    .setPartSize(1024 * 1024)
+                    .call();
+            System.out.println(eTag);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testPutObjectRecursivelyTransfer() throws Exception {
+        AliyunOSSBatchResult result = objectFactory.apply("oss://yt-temp/test-kit/transfer/")
+                .putObjectRecursively(objectFactory.apply("oss://yt-temp/test-kit/file/"), 8,
+                        new AliyunOSSBufferPool(1024 * 1024, 16));
+        System.out.println(result);
+        System.out.println(result.getFailures());
+    }
+
+    @Test
+    public void testReadByteBuffer() throws Exception {
+        AliyunOSSObject object = objectFactory.apply("oss://yt-temp/test-kit/file/pom.xml");
+        ByteBuffer direct = ByteBuffer.allocateDirect(64 * 1024);
+        System.out.println(object.read(direct));
+        List<ByteBuffer> buffers = object.read(1024, ByteBuffer::allocateDirect);
+        System.out.println(buffers.size());
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        System.out.println(object.read(buffer, 1024, 4));
+        buffer.flip();
+        System.out.println(StandardCharsets.UTF_8.decode(buffer));
+    }
+
+    @Test
+    public void testWriteStreaming() throws Exception {
+        objectFactory.apply("oss://yt-temp/test-kit/file/stream.txt").write((Integer n, OutputStream stream) -> {
+            PrintStream printStream = new PrintStream(stream);
+            for (int i = 0; i < n; i++) {
+                printStream.println(i);
+            }
+            printStream.flush();
+        }, 10_000_000);
+    }
+
+    @Test
+    public void testPoolLease() throws Exception {
+        try (AliyunOSSPool pool = new AliyunOSSPool(new AliyunOSSFactory(), 1, Duration.ofSeconds(1))) {
+            AliyunOSSUri uri = new AliyunOSSUri(accessKeyId, secretAccessKey, bucketName, endpoint, null);
+            try (AliyunOSSPool.Lease lease = pool.lease(uri)) {
+                System.out.println(lease.get().doesBucketExist(bucketName));
+            }
+            try (AliyunOSSPool.Lease lease = pool.lease(uri)) {
+                System.out.println(lease.get().doesBucketExist(bucketName));
+            }
+            Thread.sleep(1500);
+            System.out.println(pool.evict());
+            System.out.println(pool.getStats());
+        }
+    }
+
+    @Test
+    public void testEndpoints() throws Exception {
+        System.out.println(AliyunOSSEndpoints.getEndpoint(endpoint));
+        Thread.sleep(3000);
+        System.out.println(AliyunOSSEndpoints.getEndpoint(endpoint));
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        AliyunOSSMetrics metrics = new AliyunOSSMetrics();
+        ObjectName objectName = metrics.register("test");
+        try {
+            AliyunOSSObjectFactory factory = new AliyunOSSObjectFactory(
+                    new MetricsOSSFactory(ossFactory, metrics));
+            factory.apply("oss://yt-temp/test-kit/file/pom.xml").readUtf8();
+            factory.apply("oss://yt-temp/test-kit/file/pom.xml").getObjectMetadata();
+            factory.apply("oss://yt-temp/test-kit/file/not-exists").doesObjectExist();
+            metrics.getSnapshots().forEach(System.out::println);
+        } finally {
+            metrics.unregister(objectName);
+        }
+    }
+
+    @Test
+    public void testInterceptors() throws Exception {
+        AliyunOSSMetrics metrics = new AliyunOSSMetrics();
+        AliyunOSSObjectFactory factory = new AliyunOSSObjectFactory(new LoggingOSSFactory(
+                new MetricsOSSFactory(uri -> InterceptingOSSProxy.newProxy(ossFactory.apply(uri), invocation -> {
+                    System.out.println(invocation.getOperation() + " " + invocation.getBucketName());
+                    return invocation.proceed();
+                }), metrics)));
+        factory.apply("oss://yt-temp/test-kit/file/pom.xml").getObjectMetadata();
+        metrics.getSnapshots().forEach(System.out::println);
+    }
+
+    @Test
+    public void testLoggingSampling() throws Exception {
+        try (LoggingOSSInterceptor interceptor = new LoggingOSSInterceptor(1024)
+                .setDefaultSamplingRate(0.1)
+                .setSamplingRate("getObject", 1.0)) {
+            AliyunOSSObjectFactory factory = new AliyunOSSObjectFactory(new LoggingOSSFactory(ossFactory, interceptor));
+            for (int i = 0; i < 10; i++) {
+                factory.apply("oss://yt-temp/test-kit/file/pom.xml").getObjectMetadata();
+            }
+            factory.apply("oss://yt-temp/test-kit/file/pom.xml").readUtf8();
+            factory.apply("oss://yt-temp/test-kit/file/not-exists").doesObjectExist();
+            Thread.sleep(1000);
+            System.out.println(interceptor.getDropped());
+        }
+    }
+
+    @Test
+    public void testMetadataCache() throws Exception {
+        AliyunOSSMetadataCache cache = new AliyunOSSMetadataCache("yt-temp", 1000, Duration.ofSeconds(30));
+        AliyunOSSObject object = objectFactory.apply("oss://yt-temp/test-kit/cache/a.txt");
+        AliyunOSSObject cached = new AliyunOSSObject(
+                InterceptingOSSProxy.newProxy(object.getOSS(), cache), object.getBucketName(), object.getKey());
+        cached.writeUtf8("a");
+        System.out.println(cache.get(cached.getKey(), k -> cached.getObjectMetadata()).getContentLength());
+        System.out.println(cache.get(cached.getKey(), k -> cached.getObjectMetadata()).getContentLength());
+        cached.writeUtf8("abc");
+        System.out.println(cache.get(cached.getKey(), k -> cached.getObjectMetadata()).getContentLength());
+        System.out.println(cache.getHits() + " " + cache.getMisses());
+        cached.deleteObject();
+    }
+
+    @Test
+    public void testSetObjectMetadataEditor() throws Exception {
+        AliyunOSSObject object = objectFactory.apply("oss://yt-temp/test-kit/file/pom.xml");
+        object.setObjectMetadata(new AliyunOSSMetadataEditor()
+                .setContentType("text/xml")
+                .setCacheControl("max-age=3600")
+                .set("x-oss-meta-a", "1")
+                .set("b", "2"));
+        System.out.println(object.getObjectMetadata().getRawMetadata());
+        System.out.println(object.getObjectMetadata().getUserMetadata());
+    }
+
+    @Test
+    public void testSetObjectMetadataRecursively() throws Exception {
+        System.out.println(objectFactory.apply("oss://yt-temp/test-kit/file/")
+                .setObjectMetadataRecursively(new AliyunOSSMetadataEditor().setCacheControl("no-cache"), 8, 100)
+                .throwIfFailed()
+                .getCount());
+    }
+
+    @Test
+    public void testRandomAccessContent() throws Exception {
+        AliyunOSSObject object = objectFactory.apply("oss://yt-temp/test-kit/upload/a.mp4");
+        ObjectMetadata objectMetadata = object.getObjectMetadata();
+        try (AliyunOSSRandomAccessContent content = new AliyunOSSRandomAccessContent(
+                object, objectMetadata.getETag(), objectMetadata.getContentLength())) {
+            content.seek(content.length() - 4096);
+            byte[] tail = new byte[4096];
+            content.readFully(tail);
+            content.seek(0);
+            System.out.println(content.readInt());
+            byte[] head = new byte[1024 * 1024];
+            content.readFully(head);
+            System.out.println(content.getFilePointer());
+        }
+    }
+
+    @Test
+    public void testGetObjectContentPrefetch() throws Exception {
+        long timestamp = System.currentTimeMillis();
+        try (InputStream stream = objectFactory.apply("oss://yt-temp/test-kit/upload/a.mp4")
+                .getObjectContent(8 * 1024 * 1024, 8)) {
+            byte[] buffer = new byte[64 * 1024];
+            long n = 0;
+            for (int count = stream.read(buffer); count >= 0; count = stream.read(buffer)) {
+                n += count;
+            }
+            System.out.println(n + " " + (System.currentTimeMillis() - timestamp) + "ms");
+        }
+    }
+
+    @Test
+    public void testContentCache() throws Exception {
+        AliyunOSSContentCache contentCache = new AliyunOSSContentCache(
+                new File("target/content-cache").toPath(), 64 * 1024 * 1024);
+        AliyunOSSObject pom = objectFactory.apply("oss://yt-temp/test-kit/file/pom.xml");
+        AliyunOSSObject object = new AliyunOSSObject(pom.getOSS(), pom.getBucketName(), pom.getKey()) {
+            @Override
+            public AliyunOSSContentCache getContentCache() {
+                return contentCache;
+            }
+        };
+        System.out.println(object.readUtf8().length());
+        System.out.println(object.readUtf8().length());
+        System.out.println(contentCache.getHits() + " " + contentCache.getMisses() + " " + contentCache.getBytes());
+    }
+
     @Test
     public void testGetObject() throws Exception {
         try (OSSObject object = objectFactory.apply("oss://yt-temp/test-kit/file/pom.xml").getObject()) {
@@ -146,6 +438,12 @@ public class TestAliyunOSS {
         System.out.println(objectFactory.apply("oss://yt-temp/test-kit/file/pom.xml").getObject(new File("target/pom.xml")));
     }
 
+    @Test
+    public void testGetObjectFileParallel() throws Exception {
+        System.out.println(objectFactory.apply("oss://yt-temp/test-kit/upload/a.mp4")
+                .getObject(new File("target/a.mp4"), 1024 * 1024, 8, true));
+    }
+
     @Test
     public void testGetObjectRecursively() throws Exception {
         System.out.println(new File("temp").getAbsolutePath());
@@ -197,6 +495,57 @@ public class TestAliyunOSS {
         }
     }
 
+    @Test
+    public void testAppendObjectBuffered() throws Exception {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        try (AliyunOSSOutputStream stream = objectFactory.apply("oss://yt-temp/test-kit/append/log.txt")
+                .appendObject(0L, 64 * 1024, executor, 1000L);
+             PrintStream printer = new PrintStream(stream, false, "utf-8")) {
+            for (int i = 0; i < 10000; i++) {
+                printer.println("line " + i);
+            }
+            printer.flush();
+            System.out.println(stream.getPosition());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testUploadObject() throws Exception {
+        try (InputStream input = new FileInputStream("pom.xml");
+             AliyunOSSMultipartOutputStream stream = objectFactory.apply("oss://yt-temp/test-kit/upload/pom.xml").uploadObject()) {
+            byte[] buffer = new byte[128];
+            while (true) {
+                int n = input.read(buffer);
+                if (n < 0) {
+                    break;
+                }
+                stream.write(buffer, 0, n);
+            }
+        }
+    }
+
+    @Test
+    public void testUploadObjectExecutor() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            AliyunOSSObjectFactory factory = new AliyunOSSObjectFactory(ossFactory, executor);
+            try (InputStream input = new FileInputStream("pom.xml");
+                 AliyunOSSMultipartOutputStream stream = factory.apply("oss://yt-temp/test-kit/upload/pom.xml")
+                         .uploadObject(new ObjectMetadata(), AliyunOSSMultipartOutputStream.MIN_PART_SIZE, 4)) {
+                byte[] buffer = new byte[8 * 1024];
+                for (int n = input.read(buffer); n >= 0; n = input.read(buffer)) {
+                    stream.write(buffer, 0, n);
+                }
+            }
+            System.out.println(factory.apply("oss://yt-temp/test-kit/upload/")
+                    .getObjectRecursively(new File("target/download"), 8, 0));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
     @Test
     public void testDeleteObject() throws Exception {
         objectFactory.apply("oss://yt-temp/test-kit/file/").listObjectSummariesRecursively().forEachRemaining(o -> {